@@ -0,0 +1,177 @@
+package com.autorepair.common.events;
+
+import com.autorepair.common.security.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a polled batch of events on a bounded worker pool. Events sharing an
+ * aggregate are handled one after another in offset order, different aggregates
+ * in parallel. Offsets are committed only up to the first event that did not
+ * complete; that event and everything after it is redelivered.
+ *
+ * <pre>
+ * &#64;KafkaListener(topics = "workorder.events.v1", containerFactory = EventListenerConfig.BATCH_FACTORY)
+ * public void onEvents(List&lt;ConsumerRecord&lt;String, EventEnvelope&lt;Object&gt;&gt;&gt; records,
+ *                      Acknowledgment ack, Consumer&lt;?, ?&gt; consumer) {
+ *     runtime.process(records, ack, consumer, this::handle);
+ * }
+ * </pre>
+ */
+@Component
+@Slf4j
+public class EventBatchRuntime {
+
+    private final EventListenerProperties properties;
+    private final MeterRegistry registry;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, AtomicLong> lagByGroup = new ConcurrentHashMap<>();
+
+    public EventBatchRuntime(EventListenerProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+            properties.getWorkers(), properties.getWorkers(), 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "event-worker-" + threadIndex.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            },
+            // a full queue slows the container thread down instead of dropping work
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    public <T> void process(List<ConsumerRecord<String, EventEnvelope<T>>> records, Acknowledgment ack,
+                            Consumer<?, ?> consumer, EventHandler<T> handler) {
+        if (records.isEmpty()) {
+            return;
+        }
+        String group = consumer.groupMetadata().groupId();
+        Timer.Sample batchSample = Timer.start(registry);
+        boolean[] completed = new boolean[records.size()];
+
+        List<CompletableFuture<Void>> chains = new ArrayList<>();
+        for (List<Integer> chain : chainsByKey(records).values()) {
+            chains.add(CompletableFuture.runAsync(() -> runChain(group, records, chain, completed, handler), workers));
+        }
+        CompletableFuture.allOf(chains.toArray(CompletableFuture[]::new)).join();
+
+        int firstIncomplete = firstIncomplete(completed);
+        if (firstIncomplete < 0) {
+            ack.acknowledge();
+        } else {
+            log.warn("Redelivering batch tail: group={}, index={}, batchSize={}", group, firstIncomplete, records.size());
+            ack.nack(firstIncomplete, properties.getNackBackoff());
+        }
+        batchSample.stop(Timer.builder("events.batch.processing").tags(Tags.of("group", group)).register(registry));
+        recordLag(group, consumer, records);
+    }
+
+    private <T> void runChain(String group, List<ConsumerRecord<String, EventEnvelope<T>>> records,
+                              List<Integer> chain, boolean[] completed, EventHandler<T> handler) {
+        Timer timer = Timer.builder("events.record.processing").tags(Tags.of("group", group)).register(registry);
+        for (int index : chain) {
+            ConsumerRecord<String, EventEnvelope<T>> record = records.get(index);
+            EventEnvelope<T> event = record.value();
+            if (event == null) {
+                // undeserializable record, retrying it cannot help
+                log.error("Skipping unreadable event: group={}, topic={}, partition={}, offset={}",
+                    group, record.topic(), record.partition(), record.offset());
+                registry.counter("events.records.unreadable", "group", group).increment();
+                completed[index] = true;
+                continue;
+            }
+            long started = System.nanoTime();
+            try {
+                // handlers run under the event's tenant, so services scope queries as for requests
+                TenantContext.callWith(TenantContextRecordInterceptor.tenantOf(record), () -> {
+                    handler.handle(event);
+                    return null;
+                });
+                completed[index] = true;
+            } catch (Exception e) {
+                log.error("Event handler failed: group={}, eventId={}, eventType={}",
+                    group, event.getEventId(), event.getEventType(), e);
+                // later events of this aggregate must not overtake the failed one
+                return;
+            } finally {
+                timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                if (event.getOccurredAt() != null) {
+                    registry.timer("events.record.delay", "group", group)
+                        .record(Duration.between(event.getOccurredAt(), Instant.now()));
+                }
+            }
+        }
+    }
+
+    private <T> Map<String, List<Integer>> chainsByKey(List<ConsumerRecord<String, EventEnvelope<T>>> records) {
+        Map<String, List<Integer>> chains = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            chains.computeIfAbsent(orderingKey(records.get(i)), key -> new ArrayList<>()).add(i);
+        }
+        return chains;
+    }
+
+    private static String orderingKey(ConsumerRecord<String, ? extends EventEnvelope<?>> record) {
+        EventEnvelope<?> event = record.value();
+        if (event != null && event.getAggregateId() != null) {
+            return event.getAggregateId().toString();
+        }
+        if (record.key() != null) {
+            return "key:" + record.key();
+        }
+        return "partition:" + record.topic() + "-" + record.partition();
+    }
+
+    private static int firstIncomplete(boolean[] completed) {
+        for (int i = 0; i < completed.length; i++) {
+            if (!completed[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private <T> void recordLag(String group, Consumer<?, ?> consumer, List<ConsumerRecord<String, EventEnvelope<T>>> records) {
+        Set<TopicPartition> partitions = new LinkedHashSet<>();
+        records.forEach(record -> partitions.add(new TopicPartition(record.topic(), record.partition())));
+        long lag = 0;
+        for (TopicPartition partition : partitions) {
+            lag += consumer.currentLag(partition).orElse(0);
+        }
+        lagByGroup.computeIfAbsent(group, g -> registry.gauge("events.consumer.lag", Tags.of("group", g), new AtomicLong()))
+            .set(lag);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,25 @@
+package com.autorepair.common.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "events.dedupe")
+@Data
+public class EventDedupeProperties {
+
+    /**
+     * Recently processed event ids remembered per consumer group; replays of
+     * these are dropped without a database round trip.
+     */
+    private long recentIds = 100_000;
+
+    /**
+     * How long a processed_events row is kept, and so how far back a redelivery
+     * is still recognized.
+     */
+    private Duration ttl = Duration.ofDays(7);
+}
@@ -0,0 +1,166 @@
+package com.autorepair.common.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Array;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Drops already processed events from a consumer batch. Recently seen ids are
+ * answered from memory; the rest are claimed in {@code processed_events} with one
+ * multi-row {@code INSERT ... ON CONFLICT DO NOTHING RETURNING}. The claim joins
+ * the caller's transaction, so a failed handler un-claims its events.
+ */
+@Component
+@Slf4j
+public class EventDeduplicator {
+
+    private static final String CLAIM_SQL =
+        "INSERT INTO processed_events (id, tenant_id, event_id, consumer_group, processed_at, expires_at) " +
+        "SELECT gen_random_uuid(), t.tenant_id, t.event_id, ?, ?, ? " +
+        "FROM unnest(?::uuid[], ?::uuid[]) AS t(tenant_id, event_id) " +
+        "ON CONFLICT (tenant_id, event_id, consumer_group) DO NOTHING " +
+        "RETURNING tenant_id, event_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventDedupeProperties properties;
+    private final MeterRegistry registry;
+    private final Map<String, Cache<String, Boolean>> recentByGroup = new ConcurrentHashMap<>();
+
+    public EventDeduplicator(JdbcTemplate jdbcTemplate, EventDedupeProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    /**
+     * Claims the batch for {@code consumerGroup} and hands only the unseen events
+     * to {@code handler}, all in one transaction.
+     */
+    @Transactional
+    public <T> void processNew(String consumerGroup, List<EventEnvelope<T>> events,
+                               Consumer<List<EventEnvelope<T>>> handler) {
+        List<EventEnvelope<T>> fresh = claim(consumerGroup, events);
+        if (!fresh.isEmpty()) {
+            handler.accept(fresh);
+        }
+    }
+
+    /**
+     * Returns the events of the batch that were not processed by this consumer
+     * group before, in their original order, and records them as processed.
+     * Must run inside the transaction that applies their effects.
+     */
+    public <T> List<EventEnvelope<T>> claim(String consumerGroup, List<EventEnvelope<T>> events) {
+        Cache<String, Boolean> recent = recent(consumerGroup);
+        Map<String, EventEnvelope<T>> candidates = new LinkedHashMap<>();
+        int cached = 0;
+        for (EventEnvelope<T> event : events) {
+            String key = key(event.getTenantId(), event.getEventId());
+            if (recent.getIfPresent(key) != null) {
+                cached++;
+            } else {
+                candidates.putIfAbsent(key, event);
+            }
+        }
+        duplicates(consumerGroup, "cache", cached);
+        duplicates(consumerGroup, "batch", events.size() - cached - candidates.size());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> claimed = insert(consumerGroup, candidates.values());
+        duplicates(consumerGroup, "db", candidates.size() - claimed.size());
+
+        List<EventEnvelope<T>> fresh = new ArrayList<>(claimed.size());
+        candidates.forEach((key, event) -> {
+            if (claimed.contains(key)) {
+                fresh.add(event);
+            }
+        });
+        // ids the database already knew are remembered right away, new ones only
+        // once their transaction has committed
+        candidates.keySet().stream().filter(key -> !claimed.contains(key)).forEach(key -> recent.put(key, true));
+        afterCommit(() -> claimed.forEach(key -> recent.put(key, true)));
+        return fresh;
+    }
+
+    private <T> Set<String> insert(String consumerGroup, Iterable<EventEnvelope<T>> events) {
+        List<UUID> tenantIds = new ArrayList<>();
+        List<UUID> eventIds = new ArrayList<>();
+        for (EventEnvelope<T> event : events) {
+            tenantIds.add(event.getTenantId());
+            eventIds.add(event.getEventId());
+        }
+        Instant now = Instant.now();
+        Set<String> claimed = new HashSet<>();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(CLAIM_SQL);
+            Array tenants = connection.createArrayOf("uuid", tenantIds.toArray());
+            Array ids = connection.createArrayOf("uuid", eventIds.toArray());
+            statement.setString(1, consumerGroup);
+            statement.setObject(2, OffsetDateTime.ofInstant(now, ZoneOffset.UTC));
+            statement.setObject(3, OffsetDateTime.ofInstant(now.plus(properties.getTtl()), ZoneOffset.UTC));
+            statement.setArray(4, tenants);
+            statement.setArray(5, ids);
+            return statement;
+        }, rs -> {
+            claimed.add(key(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class)));
+        });
+        return claimed;
+    }
+
+    private Cache<String, Boolean> recent(String consumerGroup) {
+        return recentByGroup.computeIfAbsent(consumerGroup, group -> Caffeine.newBuilder()
+            .maximumSize(properties.getRecentIds())
+            .expireAfterWrite(properties.getTtl())
+            .build());
+    }
+
+    private void duplicates(String consumerGroup, String source, int count) {
+        if (count > 0) {
+            Counter.builder("events.dedupe.duplicates")
+                .tag("group", consumerGroup)
+                .tag("source", source)
+                .register(registry)
+                .increment(count);
+        }
+    }
+
+    private static String key(UUID tenantId, UUID eventId) {
+        return tenantId + ":" + eventId;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.autorepair.common.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,4 +26,11 @@ public class EventEnvelope<T> {
     private UUID branchId;
     private UUID aggregateId;
     private T payload;
+
+    /**
+     * Set on consumption from the {@link EventHeaders#REPLAY} record header, never
+     * serialized.
+     */
+    @JsonIgnore
+    private boolean replay;
 }
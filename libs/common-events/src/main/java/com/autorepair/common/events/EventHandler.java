@@ -0,0 +1,7 @@
+package com.autorepair.common.events;
+
+@FunctionalInterface
+public interface EventHandler<T> {
+
+    void handle(EventEnvelope<T> event) throws Exception;
+}
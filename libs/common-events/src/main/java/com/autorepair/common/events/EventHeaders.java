@@ -0,0 +1,42 @@
+package com.autorepair.common.events;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Record headers set by the outbox publishers that consumers act on.
+ */
+public final class EventHeaders {
+
+    /**
+     * {@code true} on events re-published by an outbox replay; projections being
+     * rebuilt read them, live side effects (notifications, sagas) must skip them.
+     */
+    public static final String REPLAY = "x-replay";
+    public static final String REPLAY_ID = "x-replay-id";
+    public static final String TENANT_ID = "x-tenant-id";
+    public static final String BRANCH_ID = "x-branch-id";
+
+    private EventHeaders() {
+    }
+
+    public static boolean isReplay(Headers headers) {
+        Header header = headers.lastHeader(REPLAY);
+        return header != null && "true".equals(new String(header.value(), StandardCharsets.UTF_8));
+    }
+
+    public static UUID uuid(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        if (header == null || header.value() == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(new String(header.value(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.autorepair.common.events;
+
+import com.autorepair.common.events.codec.EventEnvelopeDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+@Configuration
+public class EventListenerConfig {
+
+    /**
+     * Container factory for {@link EventBatchRuntime} listeners: batch delivery of
+     * {@link EventEnvelope} values (JSON or Avro, see {@link EventEnvelopeDeserializer})
+     * and manual acks, so offsets are only committed for the completed prefix of a batch.
+     */
+    public static final String BATCH_FACTORY = "eventBatchListenerContainerFactory";
+
+    @Bean(name = BATCH_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<String, EventEnvelope<Object>> eventBatchListenerContainerFactory(
+            KafkaProperties kafkaProperties, ObjectMapper objectMapper, EventListenerProperties properties) {
+        DefaultKafkaConsumerFactory<String, EventEnvelope<Object>> consumerFactory = new DefaultKafkaConsumerFactory<>(
+            kafkaProperties.buildConsumerProperties(null),
+            new StringDeserializer(),
+            new ErrorHandlingDeserializer<>(new EventEnvelopeDeserializer(objectMapper))
+        );
+
+        ConcurrentKafkaListenerContainerFactory<String, EventEnvelope<Object>> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(properties.getConcurrency());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+}
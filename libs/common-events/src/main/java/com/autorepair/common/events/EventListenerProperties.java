@@ -0,0 +1,31 @@
+package com.autorepair.common.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "events.listener")
+@Data
+public class EventListenerProperties {
+
+    /**
+     * Worker threads that run handlers; events of different aggregates in one
+     * batch are handled in parallel up to this limit.
+     */
+    private int workers = 8;
+
+    private int queueCapacity = 1000;
+
+    /**
+     * Container threads (consumers) per listener.
+     */
+    private int concurrency = 1;
+
+    /**
+     * Pause before the failed tail of a batch is redelivered.
+     */
+    private Duration nackBackoff = Duration.ofSeconds(1);
+}
@@ -0,0 +1,49 @@
+package com.autorepair.common.events;
+
+import com.autorepair.common.security.TenantContext;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Binds the tenant of each record for record listeners on Spring Boot's default
+ * container factory, which picks this bean up. The tenant comes from the
+ * envelope when the value is one, otherwise from the outbox headers.
+ * {@link EventBatchRuntime} binds it per event itself.
+ */
+@Component
+public class TenantContextRecordInterceptor implements RecordInterceptor<Object, Object> {
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        TenantContext context = tenantOf(record);
+        if (context != null) {
+            TenantContext.set(context);
+        } else {
+            TenantContext.clear();
+        }
+        return record;
+    }
+
+    static TenantContext tenantOf(ConsumerRecord<?, ?> record) {
+        EventEnvelope<?> event = record.value() instanceof EventEnvelope<?> envelope ? envelope : null;
+        UUID tenantId = event != null && event.getTenantId() != null
+            ? event.getTenantId()
+            : EventHeaders.uuid(record.headers(), EventHeaders.TENANT_ID);
+        if (tenantId == null) {
+            return null;
+        }
+        UUID branchId = event != null && event.getBranchId() != null
+            ? event.getBranchId()
+            : EventHeaders.uuid(record.headers(), EventHeaders.BRANCH_ID);
+        return TenantContext.builder().tenantId(tenantId).branchId(branchId).build();
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        TenantContext.clear();
+    }
+}
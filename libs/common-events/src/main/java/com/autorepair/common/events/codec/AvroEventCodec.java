@@ -0,0 +1,128 @@
+package com.autorepair.common.events.codec;
+
+import com.autorepair.common.events.EventEnvelope;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro single-object encoding: a two-byte marker, the 8-byte fingerprint of the
+ * writer schema, then the binary record. The writer schema is the registered
+ * version named by {@code eventVersion}; readers always resolve to the latest
+ * registered version of the event type.
+ */
+public class AvroEventCodec implements EventCodec {
+
+    public static final String NAME = "avro";
+
+    private static final byte MARKER_0 = (byte) 0xC3;
+    private static final byte MARKER_1 = (byte) 0x01;
+    private static final int HEADER_LENGTH = 10;
+
+    private final EventSchemaRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, BinaryMessageEncoder<GenericRecord>> encoders = new ConcurrentHashMap<>();
+    private final Map<String, BinaryMessageDecoder<GenericRecord>> decoders = new ConcurrentHashMap<>();
+
+    public AvroEventCodec(EventSchemaRegistry registry, ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    public static boolean isAvro(byte[] data) {
+        return data != null && data.length > HEADER_LENGTH && data[0] == MARKER_0 && data[1] == MARKER_1;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(EventEnvelope<?> envelope) {
+        int version = envelope.getEventVersion() != null ? envelope.getEventVersion() : 1;
+        EventSchemaRegistry.RegisteredSchema schema = registry.find(envelope.getEventType(), version)
+            .orElseThrow(() -> new SerializationException("No event schema registered for "
+                + envelope.getEventType() + "@" + version));
+
+        try {
+            GenericData.Record record = new GenericData.Record(schema.envelope());
+            record.put("eventId", string(envelope.getEventId()));
+            record.put("eventType", envelope.getEventType());
+            record.put("eventVersion", version);
+            record.put("occurredAt", envelope.getOccurredAt() != null ? AvroJsonConverter.toMicros(envelope.getOccurredAt()) : null);
+            record.put("producer", envelope.getProducer());
+            record.put("traceId", envelope.getTraceId());
+            record.put("requestId", envelope.getRequestId());
+            record.put("tenantId", string(envelope.getTenantId()));
+            record.put("branchId", string(envelope.getBranchId()));
+            record.put("aggregateId", string(envelope.getAggregateId()));
+            JsonNode payload = objectMapper.valueToTree(envelope.getPayload());
+            record.put("payload", AvroJsonConverter.toAvro(payload, schema.payload(), "payload"));
+
+            return encoders.computeIfAbsent(schema.fingerprint(),
+                    fingerprint -> new BinaryMessageEncoder<>(GenericData.get(), schema.envelope()))
+                .encode(record)
+                .array();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to write event as Avro: eventType=" + envelope.getEventType()
+                + ", eventId=" + envelope.getEventId(), e);
+        }
+    }
+
+    @Override
+    public EventEnvelope<Object> decode(byte[] data) {
+        if (!isAvro(data)) {
+            throw new SerializationException("Not an Avro single-object encoded event");
+        }
+        long fingerprint = ByteBuffer.wrap(data, 2, 8).order(ByteOrder.LITTLE_ENDIAN).getLong();
+        EventSchemaRegistry.RegisteredSchema writer = registry.byFingerprint(fingerprint);
+        if (writer == null) {
+            throw new SerializationException("Unknown event schema fingerprint " + Long.toHexString(fingerprint));
+        }
+        EventSchemaRegistry.RegisteredSchema reader = registry.latest(writer.eventType()).orElse(writer);
+
+        try {
+            GenericRecord record = decoders.computeIfAbsent(reader.eventType(),
+                    eventType -> new BinaryMessageDecoder<>(GenericData.get(), reader.envelope(), registry))
+                .decode(data);
+            JsonNode payload = AvroJsonConverter.toJson(record.get("payload"), reader.payload());
+
+            return EventEnvelope.builder()
+                .eventId(uuid(record.get("eventId")))
+                .eventType(record.get("eventType").toString())
+                .eventVersion((Integer) record.get("eventVersion"))
+                .occurredAt(AvroJsonConverter.fromMicros((Long) record.get("occurredAt")))
+                .producer(string(record.get("producer")))
+                .traceId(string(record.get("traceId")))
+                .requestId(string(record.get("requestId")))
+                .tenantId(uuid(record.get("tenantId")))
+                .branchId(uuid(record.get("branchId")))
+                .aggregateId(uuid(record.get("aggregateId")))
+                .payload(objectMapper.treeToValue(payload, Object.class))
+                .build();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to read Avro event: eventType=" + writer.eventType()
+                + "@" + writer.version(), e);
+        }
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static UUID uuid(Object value) {
+        return value != null ? UUID.fromString(value.toString()) : null;
+    }
+}
@@ -0,0 +1,233 @@
+package com.autorepair.common.events.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps payload trees to Avro generic data and back, driven by the schema, so
+ * payload classes need no generated code. Timestamp logical types travel as
+ * ISO-8601 strings on the JSON side, like Jackson writes {@link Instant}.
+ */
+final class AvroJsonConverter {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private AvroJsonConverter() {
+    }
+
+    static Object toAvro(JsonNode node, Schema schema, String path) {
+        boolean absent = node == null || node.isNull() || node.isMissingNode();
+        switch (schema.getType()) {
+            case NULL:
+                if (!absent) {
+                    throw mismatch(path, schema, node);
+                }
+                return null;
+            case UNION:
+                return unionToAvro(node, absent, schema, path);
+            default:
+                if (absent) {
+                    throw new AvroTypeException("Missing required value at " + path);
+                }
+        }
+
+        switch (schema.getType()) {
+            case RECORD: {
+                if (!node.isObject()) {
+                    throw mismatch(path, schema, node);
+                }
+                GenericData.Record record = new GenericData.Record(schema);
+                for (Schema.Field field : schema.getFields()) {
+                    JsonNode value = node.get(field.name());
+                    if ((value == null || value.isNull()) && field.hasDefaultValue()) {
+                        record.put(field.pos(), GenericData.get().deepCopy(field.schema(), GenericData.get().getDefaultValue(field)));
+                    } else {
+                        record.put(field.pos(), toAvro(value, field.schema(), path + "." + field.name()));
+                    }
+                }
+                return record;
+            }
+            case ENUM:
+                if (!node.isTextual() || !schema.hasEnumSymbol(node.textValue())) {
+                    throw mismatch(path, schema, node);
+                }
+                return new GenericData.EnumSymbol(schema, node.textValue());
+            case ARRAY: {
+                if (!node.isArray()) {
+                    throw mismatch(path, schema, node);
+                }
+                List<Object> items = new ArrayList<>(node.size());
+                for (int i = 0; i < node.size(); i++) {
+                    items.add(toAvro(node.get(i), schema.getElementType(), path + "[" + i + "]"));
+                }
+                return new GenericData.Array<>(schema, items);
+            }
+            case MAP: {
+                if (!node.isObject()) {
+                    throw mismatch(path, schema, node);
+                }
+                Map<String, Object> map = new LinkedHashMap<>();
+                node.fields().forEachRemaining(entry ->
+                    map.put(entry.getKey(), toAvro(entry.getValue(), schema.getValueType(), path + "." + entry.getKey())));
+                return map;
+            }
+            case STRING:
+                if (!node.isValueNode()) {
+                    throw mismatch(path, schema, node);
+                }
+                return node.asText();
+            case INT:
+                if (!node.canConvertToInt() || !node.isIntegralNumber()) {
+                    throw mismatch(path, schema, node);
+                }
+                return node.intValue();
+            case LONG:
+                if (node.isTextual() && isTimestamp(schema.getLogicalType())) {
+                    return fromInstant(Instant.parse(node.textValue()), schema.getLogicalType());
+                }
+                if (!node.canConvertToLong() || !node.isIntegralNumber()) {
+                    throw mismatch(path, schema, node);
+                }
+                return node.longValue();
+            case FLOAT:
+                if (!node.isNumber()) {
+                    throw mismatch(path, schema, node);
+                }
+                return node.floatValue();
+            case DOUBLE:
+                if (!node.isNumber()) {
+                    throw mismatch(path, schema, node);
+                }
+                return node.doubleValue();
+            case BOOLEAN:
+                if (!node.isBoolean()) {
+                    throw mismatch(path, schema, node);
+                }
+                return node.booleanValue();
+            case BYTES:
+                try {
+                    return ByteBuffer.wrap(node.binaryValue());
+                } catch (IOException e) {
+                    throw new AvroTypeException("Expected base64 bytes at " + path);
+                }
+            default:
+                throw new AvroTypeException("Unsupported schema type " + schema.getType() + " at " + path);
+        }
+    }
+
+    private static Object unionToAvro(JsonNode node, boolean absent, Schema union, String path) {
+        if (absent) {
+            if (union.getIndexNamed(Schema.Type.NULL.getName()) == null) {
+                throw new AvroTypeException("Missing required value at " + path);
+            }
+            return null;
+        }
+        AvroTypeException last = null;
+        for (Schema branch : union.getTypes()) {
+            if (branch.getType() == Schema.Type.NULL) {
+                continue;
+            }
+            try {
+                return toAvro(node, branch, path);
+            } catch (RuntimeException e) {
+                last = new AvroTypeException(e.getMessage());
+            }
+        }
+        throw last != null ? last : mismatch(path, union, node);
+    }
+
+    static JsonNode toJson(Object value, Schema schema) {
+        if (value == null) {
+            return NODES.nullNode();
+        }
+        switch (schema.getType()) {
+            case UNION:
+                return toJson(value, schema.getTypes().get(GenericData.get().resolveUnion(schema, value)));
+            case RECORD: {
+                GenericRecord record = (GenericRecord) value;
+                ObjectNode object = NODES.objectNode();
+                for (Schema.Field field : schema.getFields()) {
+                    object.set(field.name(), toJson(record.get(field.pos()), field.schema()));
+                }
+                return object;
+            }
+            case ARRAY: {
+                ArrayNode array = NODES.arrayNode();
+                for (Object item : (Iterable<?>) value) {
+                    array.add(toJson(item, schema.getElementType()));
+                }
+                return array;
+            }
+            case MAP: {
+                ObjectNode object = NODES.objectNode();
+                ((Map<?, ?>) value).forEach((key, item) -> object.set(key.toString(), toJson(item, schema.getValueType())));
+                return object;
+            }
+            case ENUM:
+            case STRING:
+                return NODES.textNode(value.toString());
+            case INT:
+                return NODES.numberNode((Integer) value);
+            case LONG:
+                if (isTimestamp(schema.getLogicalType())) {
+                    return NODES.textNode(toInstant((Long) value, schema.getLogicalType()).toString());
+                }
+                return NODES.numberNode((Long) value);
+            case FLOAT:
+                return NODES.numberNode((Float) value);
+            case DOUBLE:
+                return NODES.numberNode((Double) value);
+            case BOOLEAN:
+                return NODES.booleanNode((Boolean) value);
+            case BYTES: {
+                ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                return NODES.binaryNode(bytes);
+            }
+            default:
+                throw new AvroTypeException("Unsupported schema type " + schema.getType());
+        }
+    }
+
+    static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    private static boolean isTimestamp(LogicalType logicalType) {
+        return logicalType instanceof LogicalTypes.TimestampMillis || logicalType instanceof LogicalTypes.TimestampMicros;
+    }
+
+    private static long fromInstant(Instant instant, LogicalType logicalType) {
+        return logicalType instanceof LogicalTypes.TimestampMillis ? instant.toEpochMilli() : toMicros(instant);
+    }
+
+    private static Instant toInstant(long value, LogicalType logicalType) {
+        return logicalType instanceof LogicalTypes.TimestampMillis ? Instant.ofEpochMilli(value) : fromMicros(value);
+    }
+
+    private static AvroTypeException mismatch(String path, Schema schema, JsonNode node) {
+        return new AvroTypeException("Expected " + schema.getType().getName() + " at " + path
+            + " but found " + (node == null ? "nothing" : node.getNodeType().name().toLowerCase()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.autorepair.common.events.codec;
+
+import com.autorepair.common.events.EventEnvelope;
+
+/**
+ * Wire format of an {@link EventEnvelope}. Decoded payloads are plain maps and
+ * lists, the same shape the JSON path has always produced.
+ */
+public interface EventCodec {
+
+    String name();
+
+    byte[] encode(EventEnvelope<?> envelope);
+
+    EventEnvelope<Object> decode(byte[] data);
+}
@@ -0,0 +1,65 @@
+package com.autorepair.common.events.codec;
+
+import com.autorepair.common.events.EventEnvelope;
+import com.autorepair.common.events.EventHeaders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+
+/**
+ * Reads both wire formats, telling them apart by the Avro single-object marker,
+ * so a topic can be switched to Avro without coordinating its consumers.
+ */
+public class EventEnvelopeDeserializer implements Deserializer<EventEnvelope<Object>> {
+
+    private final ObjectMapper objectMapper;
+    private final EventCodec json;
+    private volatile EventCodec binary;
+    private String schemaLocation = EventSchemaRegistry.DEFAULT_LOCATION;
+
+    public EventEnvelopeDeserializer() {
+        this(JsonEventCodec.defaultObjectMapper());
+    }
+
+    public EventEnvelopeDeserializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.json = new JsonEventCodec(objectMapper);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        schemaLocation = EventEnvelopeSerializer.schemaLocation(configs);
+    }
+
+    @Override
+    public EventEnvelope<Object> deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return AvroEventCodec.isAvro(data) ? binary().decode(data) : json.decode(data);
+    }
+
+    @Override
+    public EventEnvelope<Object> deserialize(String topic, Headers headers, byte[] data) {
+        EventEnvelope<Object> envelope = deserialize(topic, data);
+        if (envelope != null && headers != null && EventHeaders.isReplay(headers)) {
+            envelope.setReplay(true);
+        }
+        return envelope;
+    }
+
+    private EventCodec binary() {
+        EventCodec codec = binary;
+        if (codec == null) {
+            synchronized (this) {
+                if (binary == null) {
+                    binary = new AvroEventCodec(EventSchemaRegistry.load(schemaLocation), objectMapper);
+                }
+                codec = binary;
+            }
+        }
+        return codec;
+    }
+}
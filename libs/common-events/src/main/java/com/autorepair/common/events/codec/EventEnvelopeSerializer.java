@@ -0,0 +1,78 @@
+package com.autorepair.common.events.codec;
+
+import com.autorepair.common.events.EventEnvelope;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Kafka value serializer that picks the codec per topic: topics listed under
+ * {@value #BINARY_TOPICS} get Avro, every other topic keeps JSON.
+ * <pre>
+ * spring.kafka.producer.value-serializer: com.autorepair.common.events.codec.EventEnvelopeSerializer
+ * spring.kafka.producer.properties."[events.codec.binary-topics]": workorder.events.v1,vehicle.events.v1
+ * </pre>
+ */
+public class EventEnvelopeSerializer implements Serializer<EventEnvelope<?>> {
+
+    public static final String BINARY_TOPICS = "events.codec.binary-topics";
+    public static final String SCHEMA_LOCATION = "events.codec.schema-location";
+
+    private EventCodec json;
+    private EventCodec binary;
+    private Set<String> binaryTopics = Set.of();
+
+    public EventEnvelopeSerializer() {
+    }
+
+    public EventEnvelopeSerializer(EventCodec json, EventCodec binary, Set<String> binaryTopics) {
+        this.json = json;
+        this.binary = binary;
+        this.binaryTopics = Set.copyOf(binaryTopics);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        if (json != null) {
+            return;
+        }
+        binaryTopics = topics(configs.get(BINARY_TOPICS));
+        json = new JsonEventCodec(JsonEventCodec.defaultObjectMapper());
+        if (!binaryTopics.isEmpty()) {
+            binary = new AvroEventCodec(EventSchemaRegistry.load(schemaLocation(configs)), JsonEventCodec.defaultObjectMapper());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, EventEnvelope<?> envelope) {
+        if (envelope == null) {
+            return null;
+        }
+        if (json == null) {
+            configure(Map.of(), false);
+        }
+        return (binary != null && binaryTopics.contains(topic) ? binary : json).encode(envelope);
+    }
+
+    static String schemaLocation(Map<String, ?> configs) {
+        Object location = configs.get(SCHEMA_LOCATION);
+        return location != null ? location.toString() : EventSchemaRegistry.DEFAULT_LOCATION;
+    }
+
+    private static Set<String> topics(Object value) {
+        if (value == null) {
+            return Set.of();
+        }
+        Collection<?> entries = value instanceof Collection<?> collection
+            ? collection
+            : Arrays.asList(value.toString().split(","));
+        return entries.stream()
+            .map(entry -> entry.toString().trim())
+            .filter(entry -> !entry.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,133 @@
+package com.autorepair.common.events.codec;
+
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.message.SchemaStore;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * File-backed stand-in for a schema registry (DEC-042). Payload schemas live at
+ * {@code event-schemas/<eventType>/v<eventVersion>.avsc}; the envelope around
+ * them is fixed and built here, so a schema file only describes the payload.
+ */
+public class EventSchemaRegistry implements SchemaStore {
+
+    public static final String DEFAULT_LOCATION = "classpath*:event-schemas/*/v*.avsc";
+
+    private static final Pattern SCHEMA_PATH = Pattern.compile("([A-Za-z][A-Za-z0-9]*)/v(\\d+)\\.avsc$");
+    private static final String ENVELOPE_NAMESPACE = "com.autorepair.events";
+
+    private final Map<String, NavigableMap<Integer, RegisteredSchema>> byEventType = new HashMap<>();
+    private final Map<Long, RegisteredSchema> byFingerprint = new HashMap<>();
+
+    public static EventSchemaRegistry load(String locationPattern) {
+        EventSchemaRegistry registry = new EventSchemaRegistry();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(locationPattern)) {
+                registry.register(resource);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list event schemas: " + locationPattern, e);
+        }
+        return registry;
+    }
+
+    private void register(Resource resource) throws IOException {
+        String path = resource.getURL().toString();
+        Matcher matcher = SCHEMA_PATH.matcher(path);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Event schema must be named <eventType>/v<N>.avsc: " + path);
+        }
+        String eventType = matcher.group(1);
+        int version = Integer.parseInt(matcher.group(2));
+
+        Schema payload;
+        try (InputStream in = resource.getInputStream()) {
+            payload = new Schema.Parser().parse(in);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Invalid event schema " + path + ": " + e.getMessage(), e);
+        }
+        Schema envelope = envelopeSchema(eventType, payload);
+        RegisteredSchema registered = new RegisteredSchema(
+            eventType, version, payload, envelope, SchemaNormalization.parsingFingerprint64(envelope), path
+        );
+
+        RegisteredSchema previous = byEventType.computeIfAbsent(eventType, type -> new TreeMap<>()).put(version, registered);
+        if (previous != null) {
+            throw new IllegalStateException("Duplicate event schema " + eventType + "@" + version
+                + ": " + previous.source() + " and " + path);
+        }
+        // versions that differ only in defaults or docs share a fingerprint and a binary layout
+        byFingerprint.putIfAbsent(registered.fingerprint(), registered);
+    }
+
+    static Schema envelopeSchema(String eventType, Schema payload) {
+        Schema uuid = LogicalTypes.uuid().addToSchema(Schema.create(Schema.Type.STRING));
+        Schema timestamp = LogicalTypes.timestampMicros().addToSchema(Schema.create(Schema.Type.LONG));
+        Schema optionalString = Schema.createUnion(Schema.create(Schema.Type.NULL), Schema.create(Schema.Type.STRING));
+        Schema optionalUuid = Schema.createUnion(Schema.create(Schema.Type.NULL), uuid);
+        return SchemaBuilder.record(eventType + "Envelope").namespace(ENVELOPE_NAMESPACE)
+            .fields()
+            .name("eventId").type(uuid).noDefault()
+            .name("eventType").type().stringType().noDefault()
+            .name("eventVersion").type().intType().noDefault()
+            .name("occurredAt").type(timestamp).noDefault()
+            .name("producer").type(optionalString).withDefault(null)
+            .name("traceId").type(optionalString).withDefault(null)
+            .name("requestId").type(optionalString).withDefault(null)
+            .name("tenantId").type(uuid).noDefault()
+            .name("branchId").type(optionalUuid).withDefault(null)
+            .name("aggregateId").type(optionalUuid).withDefault(null)
+            .name("payload").type(payload).noDefault()
+            .endRecord();
+    }
+
+    public Optional<RegisteredSchema> find(String eventType, int version) {
+        NavigableMap<Integer, RegisteredSchema> versions = byEventType.get(eventType);
+        return versions == null ? Optional.empty() : Optional.ofNullable(versions.get(version));
+    }
+
+    public Optional<RegisteredSchema> latest(String eventType) {
+        NavigableMap<Integer, RegisteredSchema> versions = byEventType.get(eventType);
+        return versions == null ? Optional.empty() : Optional.of(versions.lastEntry().getValue());
+    }
+
+    public RegisteredSchema byFingerprint(long fingerprint) {
+        return byFingerprint.get(fingerprint);
+    }
+
+    public Map<String, NavigableMap<Integer, RegisteredSchema>> eventTypes() {
+        return Collections.unmodifiableMap(byEventType);
+    }
+
+    @Override
+    public Schema findByFingerprint(long fingerprint) {
+        RegisteredSchema registered = byFingerprint.get(fingerprint);
+        return registered != null ? registered.envelope() : null;
+    }
+
+    public record RegisteredSchema(
+        String eventType,
+        int version,
+        Schema payload,
+        Schema envelope,
+        long fingerprint,
+        String source
+    ) {
+    }
+}
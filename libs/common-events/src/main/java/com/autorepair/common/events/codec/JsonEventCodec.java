@@ -0,0 +1,55 @@
+package com.autorepair.common.events.codec;
+
+import com.autorepair.common.events.EventEnvelope;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+
+public class JsonEventCodec implements EventCodec {
+
+    public static final String NAME = "json";
+
+    private final ObjectMapper objectMapper;
+
+    public JsonEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Mapper matching Spring Boot's defaults (ISO-8601 instants), for serializers
+     * that Kafka instantiates outside the application context.
+     */
+    public static ObjectMapper defaultObjectMapper() {
+        return JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(EventEnvelope<?> envelope) {
+        try {
+            return objectMapper.writeValueAsBytes(envelope);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to write event as JSON: eventId=" + envelope.getEventId(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public EventEnvelope<Object> decode(byte[] data) {
+        try {
+            return objectMapper.readValue(data, EventEnvelope.class);
+        } catch (IOException e) {
+            throw new SerializationException("Failed to read JSON event", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.autorepair.common.events.codec;
+
+import org.apache.avro.SchemaCompatibility;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.stream.Collectors;
+
+/**
+ * Build-time gate for DEC-042, run by exec-maven-plugin in process-classes.
+ * Consumers read every event with the latest registered version, so each
+ * version must read data written with any older one (transitive BACKWARD).
+ */
+public final class SchemaCompatibilityCheck {
+
+    private SchemaCompatibilityCheck() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: SchemaCompatibilityCheck <event-schemas directory>");
+        }
+        Path directory = Path.of(args[0]).toAbsolutePath();
+        if (!Files.isDirectory(directory)) {
+            System.out.println("No event schemas at " + directory);
+            return;
+        }
+
+        EventSchemaRegistry registry = EventSchemaRegistry.load(directory.toUri() + "*/v*.avsc");
+        List<String> violations = new ArrayList<>();
+        int checked = 0;
+        for (NavigableMap<Integer, EventSchemaRegistry.RegisteredSchema> versions : registry.eventTypes().values()) {
+            for (EventSchemaRegistry.RegisteredSchema reader : versions.values()) {
+                for (EventSchemaRegistry.RegisteredSchema writer : versions.headMap(reader.version(), false).values()) {
+                    checked++;
+                    SchemaCompatibility.SchemaPairCompatibility result =
+                        SchemaCompatibility.checkReaderWriterCompatibility(reader.envelope(), writer.envelope());
+                    if (result.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+                        violations.add(reader.eventType() + "@" + reader.version() + " cannot read @" + writer.version()
+                            + ": " + describe(result));
+                    }
+                }
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Incompatible event schemas:\n  " + String.join("\n  ", violations));
+        }
+        System.out.println("Event schemas compatible: eventTypes=" + registry.eventTypes().size()
+            + ", pairsChecked=" + checked);
+    }
+
+    private static String describe(SchemaCompatibility.SchemaPairCompatibility result) {
+        return result.getResult().getIncompatibilities().stream()
+            .map(incompatibility -> incompatibility.getType() + " at " + incompatibility.getLocation()
+                + " (" + incompatibility.getMessage() + ")")
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,158 @@
+package com.autorepair.common.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerGroupMetadata;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventBatchRuntimeTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+    private static final UUID AGGREGATE_A = UUID.randomUUID();
+    private static final UUID AGGREGATE_B = UUID.randomUUID();
+
+    private final EventListenerProperties properties = new EventListenerProperties();
+    private final Acknowledgment ack = mock(Acknowledgment.class);
+    private final Consumer<?, ?> consumer = mock(Consumer.class);
+    private final List<Long> handled = Collections.synchronizedList(new ArrayList<>());
+
+    private EventBatchRuntime runtime;
+
+    @AfterEach
+    void tearDown() {
+        runtime.shutdown();
+    }
+
+    @Test
+    void completedBatchIsAcknowledged() {
+        runtime = runtime(4);
+
+        runtime.process(batch(AGGREGATE_A, AGGREGATE_B, AGGREGATE_A), ack, consumer, this::record);
+
+        assertThat(handled).containsExactlyInAnyOrder(0L, 1L, 2L);
+        verify(ack).acknowledge();
+        verify(ack, never()).nack(anyInt(), any());
+    }
+
+    @Test
+    void eventsOfOneAggregateRunInOffsetOrder() {
+        runtime = runtime(4);
+        List<Long> chainA = Collections.synchronizedList(new ArrayList<>());
+
+        runtime.process(batch(AGGREGATE_A, AGGREGATE_B, AGGREGATE_A, AGGREGATE_B, AGGREGATE_A), ack, consumer,
+            event -> {
+                if (event.getAggregateId().equals(AGGREGATE_A)) {
+                    chainA.add(offsetOf(event));
+                }
+            });
+
+        assertThat(chainA).containsExactly(0L, 2L, 4L);
+    }
+
+    @Test
+    void differentAggregatesRunInParallel() {
+        runtime = runtime(2);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        runtime.process(batch(AGGREGATE_A, AGGREGATE_B), ack, consumer, event -> {
+            bothStarted.countDown();
+            // only returns in time when the other aggregate runs concurrently
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("aggregates ran one after another");
+            }
+        });
+
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    void failureStopsItsChainAndNacksFromTheFirstIncompleteEvent() {
+        runtime = runtime(4);
+
+        runtime.process(batch(AGGREGATE_A, AGGREGATE_B, AGGREGATE_A, AGGREGATE_B, AGGREGATE_A), ack, consumer, event -> {
+            if (offsetOf(event) == 2) {
+                throw new IllegalStateException("boom");
+            }
+            record(event);
+        });
+
+        // the rest of aggregate A must not overtake the failed event; B is unaffected
+        assertThat(handled).containsExactlyInAnyOrder(0L, 1L, 3L);
+        verify(ack).nack(2, properties.getNackBackoff());
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    void earliestFailureAcrossChainsDecidesTheNackIndex() {
+        runtime = runtime(4);
+
+        runtime.process(batch(AGGREGATE_A, AGGREGATE_B, AGGREGATE_A, AGGREGATE_B), ack, consumer, event -> {
+            if (offsetOf(event) == 1 || offsetOf(event) == 2) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        verify(ack).nack(1, properties.getNackBackoff());
+    }
+
+    @Test
+    void unreadableRecordIsSkipped() {
+        runtime = runtime(4);
+        List<ConsumerRecord<String, EventEnvelope<Object>>> records = new ArrayList<>(batch(AGGREGATE_A));
+        records.add(new ConsumerRecord<>("workorder.events.v1", 0, 1, "key", null));
+
+        runtime.process(records, ack, consumer, this::record);
+
+        assertThat(handled).containsExactly(0L);
+        verify(ack).acknowledge();
+    }
+
+    private EventBatchRuntime runtime(int workers) {
+        properties.setWorkers(workers);
+        when(consumer.groupMetadata()).thenReturn(new ConsumerGroupMetadata("test-group"));
+        return new EventBatchRuntime(properties, new SimpleMeterRegistry());
+    }
+
+    private void record(EventEnvelope<Object> event) {
+        handled.add(offsetOf(event));
+    }
+
+    // the batch builder stores each record's offset in eventVersion
+    private static long offsetOf(EventEnvelope<?> event) {
+        return event.getEventVersion();
+    }
+
+    private static List<ConsumerRecord<String, EventEnvelope<Object>>> batch(UUID... aggregates) {
+        List<ConsumerRecord<String, EventEnvelope<Object>>> records = new ArrayList<>();
+        for (int offset = 0; offset < aggregates.length; offset++) {
+            EventEnvelope<Object> event = EventEnvelope.builder()
+                .eventId(UUID.randomUUID())
+                .eventType("WorkOrderUpdated")
+                .eventVersion(offset)
+                .tenantId(TENANT)
+                .aggregateId(aggregates[offset])
+                .build();
+            records.add(new ConsumerRecord<>("workorder.events.v1", 0, offset,
+                TENANT + ":" + aggregates[offset], event));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,138 @@
+package com.autorepair.common.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Reads the request body once so it can be hashed before the handler runs and
+ * then served again to the message converters.
+ */
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private static final int MAX_PREALLOCATED_BYTES = 1 << 20;
+
+    private final byte[] body;
+
+    CachedBodyHttpServletRequest(HttpServletRequest request) throws IOException {
+        super(request);
+        this.body = readBody(request);
+    }
+
+    // a known Content-Length is read straight into an exactly sized array; the cap
+    // keeps a bogus header from forcing a huge allocation up front
+    private static byte[] readBody(HttpServletRequest request) throws IOException {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0 || contentLength > MAX_PREALLOCATED_BYTES) {
+            return request.getInputStream().readAllBytes();
+        }
+        byte[] body = new byte[(int) contentLength];
+        int read = request.getInputStream().readNBytes(body, 0, body.length);
+        if (read < body.length) {
+            throw new IOException("Request body shorter than Content-Length");
+        }
+        return body;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return new CachedBodyInputStream(new ByteArrayInputStream(body));
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        Charset charset = getCharacterEncoding() != null
+            ? Charset.forName(getCharacterEncoding())
+            : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    /**
+     * The body is already in memory, so the stream is always ready. A read
+     * listener gets one {@code onDataAvailable} and may read all of it, a part,
+     * or nothing; {@code onAllDataRead} follows once the last byte was read,
+     * whether inside the callback or later.
+     */
+    private static final class CachedBodyInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream in;
+        private ReadListener listener;
+        private boolean inCallback;
+        private boolean allDataReadSignalled;
+
+        private CachedBodyInputStream(ByteArrayInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            Objects.requireNonNull(listener, "listener");
+            if (this.listener != null) {
+                throw new IllegalStateException("Read listener already set");
+            }
+            this.listener = listener;
+            if (!isFinished()) {
+                inCallback = true;
+                try {
+                    listener.onDataAvailable();
+                } catch (IOException | RuntimeException e) {
+                    listener.onError(e);
+                    return;
+                } finally {
+                    inCallback = false;
+                }
+            }
+            signalIfFinished();
+        }
+
+        @Override
+        public int read() {
+            int read = in.read();
+            signalIfFinished();
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int read = in.read(b, off, len);
+            signalIfFinished();
+            return read;
+        }
+
+        // never from inside onDataAvailable, the container calls it after the callback returns
+        private void signalIfFinished() {
+            if (listener == null || inCallback || allDataReadSignalled || !isFinished()) {
+                return;
+            }
+            allDataReadSignalled = true;
+            try {
+                listener.onAllDataRead();
+            } catch (IOException | RuntimeException e) {
+                listener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.autorepair.common.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache of completed idempotency records: a bounded in-process tier
+ * and an optional shared Redis tier in front of Postgres. Records are immutable
+ * once stored, so entries only need to live until their {@code expiresAt}.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final Cache<String, Entry> local;
+    private final RedisIdempotencyStore redis;
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    public IdempotencyCache(IdempotencyCacheProperties properties,
+                            ObjectProvider<RedisIdempotencyStore> redis,
+                            MeterRegistry registry) {
+        this.local = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfter(new UntilExpiresAt())
+            .build();
+        this.redis = redis.getIfAvailable();
+        this.localHits = lookups(registry, "local", "hit");
+        this.redisHits = lookups(registry, "redis", "hit");
+        this.misses = lookups(registry, "none", "miss");
+        registry.gauge("idempotency.cache.size", local, cache -> cache.estimatedSize());
+    }
+
+    public Optional<Entry> get(UUID tenantId, String endpointKey, String idempotencyKey) {
+        String key = key(tenantId, endpointKey, idempotencyKey);
+        Entry entry = live(local.getIfPresent(key));
+        if (entry != null) {
+            localHits.increment();
+            return Optional.of(entry);
+        }
+        if (redis != null) {
+            entry = live(redis.get(key));
+            if (entry != null) {
+                redisHits.increment();
+                local.put(key, entry);
+                return Optional.of(entry);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(UUID tenantId, String endpointKey, String idempotencyKey, Entry entry) {
+        if (live(entry) == null) {
+            return;
+        }
+        String key = key(tenantId, endpointKey, idempotencyKey);
+        local.put(key, entry);
+        if (redis != null) {
+            redis.put(key, entry);
+        }
+    }
+
+    private static Entry live(Entry entry) {
+        return entry != null && entry.expiresAt().isAfter(Instant.now()) ? entry : null;
+    }
+
+    private static String key(UUID tenantId, String endpointKey, String idempotencyKey) {
+        return tenantId + ":" + endpointKey + ":" + idempotencyKey;
+    }
+
+    private static Counter lookups(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("idempotency.cache.lookups")
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    public record Entry(String requestHash, int status, String body, Instant expiresAt) {
+    }
+
+    private static final class UntilExpiresAt implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), entry.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.autorepair.common.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "idempotency.cache")
+@Data
+public class IdempotencyCacheProperties {
+
+    /**
+     * Upper bound on entries held in the in-process tier; entries also expire at
+     * their record's {@code expiresAt}.
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * Enables the shared Redis tier between the in-process cache and Postgres.
+     * Requires spring-boot-starter-data-redis on the service classpath.
+     */
+    private boolean redisEnabled = false;
+
+    private String redisKeyPrefix = "idem:";
+}
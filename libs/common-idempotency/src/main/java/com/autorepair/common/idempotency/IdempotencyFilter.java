@@ -0,0 +1,200 @@
+package com.autorepair.common.idempotency;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.error.ErrorCode;
+import com.autorepair.common.security.TenantContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Enforces {@link Idempotent} on controller methods. Runs after the security
+ * filters so the tenant is known.
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long MIN_POLL_MS = 25;
+    private static final long MAX_POLL_MS = 250;
+
+    private final IdempotencyService idempotencyService;
+    private final IdempotencyProperties properties;
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService,
+                             IdempotencyProperties properties,
+                             @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                             @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        this.idempotencyService = idempotencyService;
+        this.properties = properties;
+        this.handlerMapping = handlerMapping;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !MUTATING_METHODS.contains(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Idempotent idempotent = idempotentAnnotation(request);
+        UUID tenantId = TenantContext.getTenantId();
+        if (idempotent == null || tenantId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            reject(request, response, new BusinessException(ErrorCode.ERR_VALIDATION_FAILED,
+                "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters", "error.validation.failed",
+                HttpStatus.BAD_REQUEST));
+            return;
+        }
+
+        String endpointKey = endpointKey(request, idempotent);
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request);
+        IdempotencyService.RequestHash requestHash = idempotencyService.hash(cachedRequest.getBody());
+
+        IdempotencyService.Reservation reservation;
+        try {
+            reservation = reserve(tenantId, endpointKey, idempotencyKey, requestHash);
+        } catch (IdempotencyHashMismatchException e) {
+            reject(request, response, new BusinessException(ErrorCode.ERR_IDEMPOTENCY_HASH_MISMATCH,
+                e.getMessage(), "error.idempotency.hash.mismatch", HttpStatus.CONFLICT));
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException(e);
+        }
+
+        switch (reservation.outcome()) {
+            case COMPLETED -> replay(response, reservation.response());
+            case IN_PROGRESS -> {
+                response.setHeader("Retry-After", "1");
+                reject(request, response, new BusinessException(ErrorCode.ERR_IDEMPOTENCY_REPLAY,
+                    "A request with this Idempotency-Key is still being processed",
+                    "error.idempotency.in.progress", HttpStatus.CONFLICT));
+            }
+            case RESERVED -> execute(cachedRequest, response, filterChain, reservation,
+                tenantId, endpointKey, idempotencyKey, Duration.parse(idempotent.ttl()));
+        }
+    }
+
+    // concurrent duplicates poll until the owner completes or releases the key
+    private IdempotencyService.Reservation reserve(UUID tenantId, String endpointKey, String idempotencyKey,
+                                                   IdempotencyService.RequestHash requestHash)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getInProgressWait().toNanos();
+        long pollMs = MIN_POLL_MS;
+        while (true) {
+            IdempotencyService.Reservation reservation =
+                idempotencyService.reserve(tenantId, endpointKey, idempotencyKey, requestHash);
+            if (reservation.outcome() != IdempotencyService.Reservation.Outcome.IN_PROGRESS
+                    || System.nanoTime() + pollMs * 1_000_000 > deadline) {
+                return reservation;
+            }
+            Thread.sleep(pollMs);
+            pollMs = Math.min(MAX_POLL_MS, pollMs * 2);
+        }
+    }
+
+    private void execute(CachedBodyHttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         IdempotencyService.Reservation reservation, UUID tenantId, String endpointKey,
+                         String idempotencyKey, Duration ttl) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, cachingResponse);
+        } catch (ServletException | IOException | RuntimeException e) {
+            release(reservation);
+            throw e;
+        }
+
+        int status = cachingResponse.getStatus();
+        try {
+            if (status >= 500) {
+                release(reservation);
+            } else {
+                String responseBody = new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8);
+                idempotencyService.complete(reservation, tenantId, endpointKey, idempotencyKey, status, responseBody, ttl);
+            }
+        } catch (RuntimeException e) {
+            // the operation already ran; the lease expires and a retry will run it again
+            log.error("Failed to record idempotent response: endpointKey={}", endpointKey, e);
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private void release(IdempotencyService.Reservation reservation) {
+        try {
+            idempotencyService.release(reservation);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency reservation {}", reservation.id(), e);
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyService.StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null && !stored.body().isEmpty()) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(stored.body());
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, BusinessException ex)
+            throws ServletException {
+        if (exceptionResolver.resolveException(request, response, null, ex) == null) {
+            throw new ServletException(ex);
+        }
+    }
+
+    private Idempotent idempotentAnnotation(HttpServletRequest request) throws ServletException {
+        try {
+            HandlerExecutionChain chain = handlerMapping.getHandler(request);
+            if (chain != null && chain.getHandler() instanceof HandlerMethod handlerMethod) {
+                return handlerMethod.getMethodAnnotation(Idempotent.class);
+            }
+            return null;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    private String endpointKey(HttpServletRequest request, Idempotent idempotent) {
+        if (!idempotent.endpoint().isBlank()) {
+            return idempotent.endpoint();
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,25 @@
+package com.autorepair.common.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+@Data
+public class IdempotencyProperties {
+
+    /**
+     * How long an IN_PROGRESS reservation blocks its key. A reservation left
+     * behind by a crashed instance can be taken over once this has passed.
+     */
+    private Duration inProgressLease = Duration.ofMinutes(1);
+
+    /**
+     * How long a concurrent duplicate waits for the in-flight request before it is
+     * answered with 409 and Retry-After.
+     */
+    private Duration inProgressWait = Duration.ofSeconds(2);
+}
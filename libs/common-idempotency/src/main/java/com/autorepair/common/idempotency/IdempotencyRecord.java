@@ -34,7 +34,10 @@ public class IdempotencyRecord {
     @Column(nullable = false, length = 64)
     private String requestHash;
     
-    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status;
+    
     private Integer responseStatus;
     
     @Column(columnDefinition = "TEXT")
@@ -51,5 +54,13 @@ public class IdempotencyRecord {
         if (createdAt == null) {
             createdAt = Instant.now();
         }
+        if (status == null) {
+            status = IdempotencyStatus.COMPLETED;
+        }
+    }
+    
+    public enum IdempotencyStatus {
+        IN_PROGRESS,
+        COMPLETED
     }
 }
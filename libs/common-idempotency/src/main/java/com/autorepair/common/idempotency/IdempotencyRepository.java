@@ -1,6 +1,9 @@
 package com.autorepair.common.idempotency;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
@@ -15,4 +18,41 @@ public interface IdempotencyRepository extends JpaRepository<IdempotencyRecord,
     );
     
     void deleteByExpiresAtBefore(Instant expiresAt);
+    
+    /**
+     * Creates an IN_PROGRESS record, or takes over one whose lease or TTL has run
+     * out. Returns 0 when a live record already holds the key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_records (id, tenant_id, endpoint_key, idempotency_key, request_hash, " +
+                   "status, created_at, expires_at) " +
+                   "VALUES (:id, :tenantId, :endpointKey, :idempotencyKey, :requestHash, 'IN_PROGRESS', :now, :leaseUntil) " +
+                   "ON CONFLICT (tenant_id, endpoint_key, idempotency_key) DO UPDATE SET " +
+                   "id = EXCLUDED.id, request_hash = EXCLUDED.request_hash, status = 'IN_PROGRESS', " +
+                   "response_status = NULL, response_body = NULL, " +
+                   "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+                   "WHERE idempotency_records.expires_at < EXCLUDED.created_at",
+           nativeQuery = true)
+    int reserve(@Param("id") UUID id,
+                @Param("tenantId") UUID tenantId,
+                @Param("endpointKey") String endpointKey,
+                @Param("idempotencyKey") String idempotencyKey,
+                @Param("requestHash") String requestHash,
+                @Param("now") Instant now,
+                @Param("leaseUntil") Instant leaseUntil);
+    
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :completed, r.responseStatus = :responseStatus, " +
+           "r.responseBody = :responseBody, r.expiresAt = :expiresAt " +
+           "WHERE r.id = :id AND r.status = :inProgress")
+    int complete(@Param("id") UUID id,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") Instant expiresAt,
+                 @Param("completed") IdempotencyRecord.IdempotencyStatus completed,
+                 @Param("inProgress") IdempotencyRecord.IdempotencyStatus inProgress);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.status = :inProgress")
+    int release(@Param("id") UUID id, @Param("inProgress") IdempotencyRecord.IdempotencyStatus inProgress);
 }
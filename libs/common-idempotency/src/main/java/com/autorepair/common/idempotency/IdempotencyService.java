@@ -3,13 +3,12 @@ package com.autorepair.common.idempotency;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HexFormat;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,28 +17,33 @@ import java.util.UUID;
 public class IdempotencyService {
     
     private final IdempotencyRepository repository;
+    private final IdempotencyCache cache;
+    private final IdempotencyProperties properties;
+    private final RequestHasher requestHasher;
     
-    @Transactional
+    // not transactional: a cache hit must not take a database connection
     public Optional<StoredResponse> check(UUID tenantId, String endpointKey, String idempotencyKey, String requestBody) {
-        String requestHash = computeHash(requestBody);
+        RequestHash requestHash = hash(requestBody.getBytes(StandardCharsets.UTF_8));
         
-        Optional<IdempotencyRecord> existing = repository.findByTenantIdAndEndpointKeyAndIdempotencyKey(
-            tenantId, endpointKey, idempotencyKey
-        );
+        Optional<IdempotencyCache.Entry> existing = cache.get(tenantId, endpointKey, idempotencyKey)
+            .or(() -> repository.findByTenantIdAndEndpointKeyAndIdempotencyKey(tenantId, endpointKey, idempotencyKey)
+                .filter(record -> record.getStatus() == IdempotencyRecord.IdempotencyStatus.COMPLETED)
+                .map(record -> {
+                    IdempotencyCache.Entry entry = toEntry(record);
+                    cache.put(tenantId, endpointKey, idempotencyKey, entry);
+                    return entry;
+                }));
         
         if (existing.isPresent()) {
-            IdempotencyRecord record = existing.get();
+            IdempotencyCache.Entry entry = existing.get();
             
-            if (!record.getRequestHash().equals(requestHash)) {
+            if (!matches(entry.requestHash(), requestHash)) {
                 throw new IdempotencyHashMismatchException(
                     "Idempotency key reused with different payload"
                 );
             }
             
-            return Optional.of(new StoredResponse(
-                record.getResponseStatus(),
-                record.getResponseBody()
-            ));
+            return Optional.of(new StoredResponse(entry.status(), entry.body()));
         }
         
         return Optional.empty();
@@ -62,6 +66,75 @@ public class IdempotencyService {
             .build();
         
         repository.save(record);
+        afterCommit(() -> cache.put(tenantId, endpointKey, idempotencyKey, toEntry(record)));
+    }
+    
+    /**
+     * Reserves the key for this request in one INSERT ... ON CONFLICT round trip,
+     * or reports the record that already holds it. A completed record with a
+     * different request hash is rejected.
+     *
+     * @param requestHash hash of the request body from {@link #hash(byte[])}
+     */
+    @Transactional
+    public Reservation reserve(UUID tenantId, String endpointKey, String idempotencyKey, RequestHash requestHash) {
+        Optional<IdempotencyCache.Entry> cached = cache.get(tenantId, endpointKey, idempotencyKey);
+        if (cached.isPresent()) {
+            return replay(cached.get(), requestHash);
+        }
+        
+        UUID reservationId = UUID.randomUUID();
+        Instant now = Instant.now();
+        int reserved = repository.reserve(
+            reservationId, tenantId, endpointKey, idempotencyKey, requestHash.value(),
+            now, now.plus(properties.getInProgressLease())
+        );
+        if (reserved == 1) {
+            return new Reservation(Reservation.Outcome.RESERVED, reservationId, requestHash.value(), null);
+        }
+        
+        Optional<IdempotencyRecord> existing = repository.findByTenantIdAndEndpointKeyAndIdempotencyKey(
+            tenantId, endpointKey, idempotencyKey
+        );
+        if (existing.isEmpty()) {
+            // released between our insert and the lookup, let the caller try again
+            return new Reservation(Reservation.Outcome.IN_PROGRESS, null, requestHash.value(), null);
+        }
+        
+        IdempotencyRecord record = existing.get();
+        if (record.getStatus() == IdempotencyRecord.IdempotencyStatus.COMPLETED) {
+            IdempotencyCache.Entry entry = toEntry(record);
+            cache.put(tenantId, endpointKey, idempotencyKey, entry);
+            return replay(entry, requestHash);
+        }
+        if (!matches(record.getRequestHash(), requestHash)) {
+            throw new IdempotencyHashMismatchException("Idempotency key reused with different payload");
+        }
+        return new Reservation(Reservation.Outcome.IN_PROGRESS, null, requestHash.value(), null);
+    }
+    
+    @Transactional
+    public void complete(Reservation reservation, UUID tenantId, String endpointKey, String idempotencyKey,
+                         int responseStatus, String responseBody, Duration ttl) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        int updated = repository.complete(
+            reservation.id(), responseStatus, responseBody, expiresAt,
+            IdempotencyRecord.IdempotencyStatus.COMPLETED, IdempotencyRecord.IdempotencyStatus.IN_PROGRESS
+        );
+        if (updated == 1) {
+            IdempotencyCache.Entry entry = new IdempotencyCache.Entry(
+                reservation.requestHash(), responseStatus, responseBody, expiresAt
+            );
+            afterCommit(() -> cache.put(tenantId, endpointKey, idempotencyKey, entry));
+        }
+    }
+    
+    /**
+     * Gives the key back after a failed execution so that a retry runs again.
+     */
+    @Transactional
+    public void release(Reservation reservation) {
+        repository.release(reservation.id(), IdempotencyRecord.IdempotencyStatus.IN_PROGRESS);
     }
     
     @Transactional
@@ -69,15 +142,66 @@ public class IdempotencyService {
         repository.deleteByExpiresAtBefore(Instant.now());
     }
     
-    private String computeHash(String input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 algorithm not available", e);
+    private Reservation replay(IdempotencyCache.Entry entry, RequestHash requestHash) {
+        if (!matches(entry.requestHash(), requestHash)) {
+            throw new IdempotencyHashMismatchException("Idempotency key reused with different payload");
+        }
+        return new Reservation(
+            Reservation.Outcome.COMPLETED, null, requestHash.value(), new StoredResponse(entry.status(), entry.body())
+        );
+    }
+    
+    /**
+     * Records written before canonical hashing hold the SHA-256 of the raw body;
+     * they are accepted until they expire, so retries across the deploy still
+     * replay. Checked only on a mismatch, and only costs a second digest then.
+     */
+    private boolean matches(String storedHash, RequestHash requestHash) {
+        return storedHash.equals(requestHash.value())
+            || storedHash.equals(requestHasher.rawHash(requestHash.body()));
+    }
+    
+    private IdempotencyCache.Entry toEntry(IdempotencyRecord record) {
+        return new IdempotencyCache.Entry(
+            record.getRequestHash(), record.getResponseStatus(), record.getResponseBody(), record.getExpiresAt()
+        );
+    }
+    
+    // only cache what actually committed, a rolled back insert must not be replayed
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    public RequestHash hash(byte[] requestBody) {
+        return new RequestHash(requestHasher.hash(requestBody), requestBody);
+    }
+    
+    private String computeHash(String input) {
+        return requestHasher.hash(input.getBytes(StandardCharsets.UTF_8));
     }
     
     public record StoredResponse(int status, String body) {}
+    
+    /**
+     * Canonical hash plus the body it came from, kept for the legacy comparison.
+     */
+    public record RequestHash(String value, byte[] body) {}
+    
+    public record Reservation(Outcome outcome, UUID id, String requestHash, StoredResponse response) {
+        
+        public enum Outcome {
+            RESERVED,
+            IN_PROGRESS,
+            COMPLETED
+        }
+    }
 }
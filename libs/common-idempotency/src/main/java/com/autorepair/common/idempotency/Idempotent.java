@@ -0,0 +1,29 @@
+package com.autorepair.common.idempotency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes a controller method replay-safe for requests carrying an
+ * {@code Idempotency-Key} header: the first request reserves the key, concurrent
+ * duplicates wait for it and later duplicates get the stored response.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Idempotent {
+
+    /**
+     * Endpoint key the idempotency key is scoped to; defaults to the HTTP method
+     * and the mapped path pattern.
+     */
+    String endpoint() default "";
+
+    /**
+     * How long the stored response is replayed, as an ISO-8601 duration (DEC-004).
+     */
+    String ttl() default "PT24H";
+}
@@ -0,0 +1,55 @@
+package com.autorepair.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Shared tier of {@link IdempotencyCache}. Redis errors are treated as misses so
+ * an unavailable Redis only costs the Postgres lookup it was meant to save.
+ */
+@Component
+@ConditionalOnClass(name = "org.springframework.data.redis.core.StringRedisTemplate")
+@ConditionalOnProperty(prefix = "idempotency.cache", name = "redis-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisIdempotencyStore {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyCacheProperties properties;
+
+    public IdempotencyCache.Entry get(String key) {
+        try {
+            String json = redisTemplate.opsForValue().get(properties.getRedisKeyPrefix() + key);
+            return json != null ? objectMapper.readValue(json, IdempotencyCache.Entry.class) : null;
+        } catch (Exception e) {
+            log.warn("Idempotency cache read failed, falling back to database: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(String key, IdempotencyCache.Entry entry) {
+        Duration ttl = Duration.between(Instant.now(), entry.expiresAt());
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(
+                properties.getRedisKeyPrefix() + key, objectMapper.writeValueAsString(entry), ttl
+            );
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize idempotency cache entry", e);
+        } catch (Exception e) {
+            log.warn("Idempotency cache write failed: {}", e.getMessage());
+        }
+    }
+}
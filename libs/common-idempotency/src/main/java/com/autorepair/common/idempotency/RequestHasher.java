@@ -0,0 +1,146 @@
+package com.autorepair.common.idempotency;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SHA-256 request hash per DEC-025. JSON bodies are hashed in canonical form
+ * (object keys sorted, insignificant whitespace dropped, numbers normalized), so
+ * a client that re-serializes the same payload with a different key order still
+ * matches. Anything that is not a single JSON document is hashed byte for byte.
+ *
+ * <p>The body is read with a streaming parser; arrays and scalars go straight
+ * into the digest and only object members are buffered, as canonical text, to be
+ * sorted. A document whose sort buffers would exceed {@link #MAX_SORT_BUFFER}
+ * characters is hashed byte for byte as well.
+ */
+@Component
+public class RequestHasher {
+
+    static final int MAX_SORT_BUFFER = 4 * 1024 * 1024;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    });
+
+    private final JsonFactory factory = new JsonFactory();
+
+    public String hash(byte[] body) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        if (!isJson(body) || !digestCanonical(body, digest)) {
+            digest.reset();
+            digest.update(body);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * SHA-256 of the raw bytes, the only form stored before canonical hashing.
+     */
+    public String rawHash(byte[] body) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return HexFormat.of().formatHex(digest.digest(body));
+    }
+
+    private boolean digestCanonical(byte[] body, MessageDigest digest) {
+        try (JsonParser parser = factory.createParser(body);
+             JsonGenerator generator = factory.createGenerator(
+                 new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            writeCanonical(parser, parser.nextToken(), generator, new int[] {MAX_SORT_BUFFER});
+            generator.flush();
+            // a single document only; trailing content means it is not JSON
+            return parser.nextToken() == null;
+        } catch (IOException | SortBufferExceeded e) {
+            return false;
+        }
+    }
+
+    private static boolean isJson(byte[] body) {
+        for (byte b : body) {
+            if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                continue;
+            }
+            return b == '{' || b == '[';
+        }
+        return false;
+    }
+
+    private void writeCanonical(JsonParser parser, JsonToken token, JsonGenerator generator, int[] budget)
+            throws IOException {
+        if (token == null) {
+            throw new IOException("Unexpected end of input");
+        }
+        switch (token) {
+            case START_OBJECT -> {
+                // sorted by key; a repeated key keeps its last value
+                Map<String, String> members = new TreeMap<>();
+                JsonToken next;
+                while ((next = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    StringWriter buffer = new StringWriter();
+                    try (JsonGenerator member = factory.createGenerator(buffer)) {
+                        writeCanonical(parser, parser.nextToken(), member, budget);
+                    }
+                    budget[0] -= name.length() + buffer.getBuffer().length();
+                    if (budget[0] < 0) {
+                        throw new SortBufferExceeded();
+                    }
+                    members.put(name, buffer.toString());
+                }
+                if (next != JsonToken.END_OBJECT) {
+                    throw new IOException("Unterminated object");
+                }
+                generator.writeStartObject();
+                for (Map.Entry<String, String> member : members.entrySet()) {
+                    generator.writeFieldName(member.getKey());
+                    generator.writeRawValue(member.getValue());
+                }
+                generator.writeEndObject();
+            }
+            case START_ARRAY -> {
+                generator.writeStartArray();
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                    writeCanonical(parser, element, generator, budget);
+                }
+                if (element == null) {
+                    throw new IOException("Unterminated array");
+                }
+                generator.writeEndArray();
+            }
+            // 1, 1.0 and 1.00 are the same number
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT ->
+                generator.writeNumber(parser.getDecimalValue().stripTrailingZeros().toString());
+            case VALUE_TRUE, VALUE_FALSE -> generator.writeBoolean(token == JsonToken.VALUE_TRUE);
+            case VALUE_NULL -> generator.writeNull();
+            case VALUE_STRING -> generator.writeString(parser.getText());
+            default -> throw new IOException("Unexpected token " + token);
+        }
+    }
+
+    private static final class SortBufferExceeded extends RuntimeException {
+
+        SortBufferExceeded() {
+            super(null, null, false, false);
+        }
+    }
+}
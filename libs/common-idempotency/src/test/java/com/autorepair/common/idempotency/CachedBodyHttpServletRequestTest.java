@@ -0,0 +1,149 @@
+package com.autorepair.common.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachedBodyHttpServletRequestTest {
+
+    private static final String BODY = "{\"vehicleId\":\"42\",\"notes\":\"brakes squeal\"}";
+
+    @Test
+    void servesTheBodyAgainOnEveryStream() throws IOException {
+        CachedBodyHttpServletRequest request = cached(BODY);
+
+        assertThat(request.getInputStream().readAllBytes()).asString(StandardCharsets.UTF_8).isEqualTo(BODY);
+        assertThat(request.getReader().readLine()).isEqualTo(BODY);
+    }
+
+    @Test
+    void allDataReadFollowsAListenerThatDrainsInChunks() throws IOException {
+        ServletInputStream in = cached(BODY).getInputStream();
+        ChunkedListener listener = new ChunkedListener(in, 5, Integer.MAX_VALUE);
+
+        in.setReadListener(listener);
+
+        assertThat(listener.body()).isEqualTo(BODY);
+        assertThat(listener.events).containsExactly("data", "all");
+    }
+
+    @Test
+    void allDataReadWaitsUntilAListenerThatStopsEarlyReadsTheRest() throws IOException {
+        ServletInputStream in = cached(BODY).getInputStream();
+        ChunkedListener listener = new ChunkedListener(in, 5, 2);
+
+        in.setReadListener(listener);
+
+        assertThat(in.isFinished()).isFalse();
+        assertThat(listener.events).containsExactly("data");
+
+        listener.readChunks(Integer.MAX_VALUE);
+
+        assertThat(listener.body()).isEqualTo(BODY);
+        assertThat(listener.events).containsExactly("data", "all");
+    }
+
+    @Test
+    void emptyBodyGoesStraightToAllDataRead() throws IOException {
+        ServletInputStream in = cached("").getInputStream();
+        ChunkedListener listener = new ChunkedListener(in, 5, Integer.MAX_VALUE);
+
+        in.setReadListener(listener);
+
+        assertThat(listener.events).containsExactly("all");
+    }
+
+    @Test
+    void callbackFailureGoesToOnError() throws IOException {
+        ServletInputStream in = cached(BODY).getInputStream();
+        List<Throwable> errors = new ArrayList<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                throw new IOException("boom");
+            }
+
+            @Override
+            public void onAllDataRead() {
+                errors.add(new AssertionError("onAllDataRead after a failure"));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                errors.add(t);
+            }
+        });
+
+        assertThat(errors).singleElement().extracting(Throwable::getMessage).isEqualTo("boom");
+    }
+
+    @Test
+    void rejectsASecondListener() throws IOException {
+        ServletInputStream in = cached(BODY).getInputStream();
+        in.setReadListener(new ChunkedListener(in, 5, Integer.MAX_VALUE));
+
+        assertThatThrownBy(() -> in.setReadListener(new ChunkedListener(in, 5, Integer.MAX_VALUE)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static CachedBodyHttpServletRequest cached(String body) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/work-orders");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return new CachedBodyHttpServletRequest(request);
+    }
+
+    private static final class ChunkedListener implements ReadListener {
+
+        private final ServletInputStream in;
+        private final byte[] chunk;
+        private final int chunksPerCallback;
+        private final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        private final List<String> events = new ArrayList<>();
+
+        private ChunkedListener(ServletInputStream in, int chunkSize, int chunksPerCallback) {
+            this.in = in;
+            this.chunk = new byte[chunkSize];
+            this.chunksPerCallback = chunksPerCallback;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            events.add("data");
+            readChunks(chunksPerCallback);
+        }
+
+        void readChunks(int max) throws IOException {
+            for (int i = 0; i < max && in.isReady() && !in.isFinished(); i++) {
+                int n = in.read(chunk);
+                if (n > 0) {
+                    read.write(chunk, 0, n);
+                }
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            events.add("all");
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            events.add("error");
+        }
+
+        String body() {
+            return read.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.autorepair.common.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+
+    private final IdempotencyCache cache = mock(IdempotencyCache.class);
+    private final RequestHasher hasher = new RequestHasher();
+    private final IdempotencyService service = new IdempotencyService(
+        mock(IdempotencyRepository.class), cache, new IdempotencyProperties(), hasher);
+
+    @Test
+    void replaysRecordHashedCanonically() {
+        stored(hasher.hash(bytes("{\"a\":1,\"b\":2}")));
+
+        assertThat(service.check(TENANT, "POST /v1/x", "key", "{ \"b\": 2, \"a\": 1 }"))
+            .contains(new IdempotencyService.StoredResponse(201, "created"));
+    }
+
+    @Test
+    void replaysLegacyRecordHashedByteForByte() {
+        String body = "{\"b\": 2, \"a\": 1}";
+        stored(hasher.rawHash(bytes(body)));
+
+        assertThat(service.check(TENANT, "POST /v1/x", "key", body))
+            .contains(new IdempotencyService.StoredResponse(201, "created"));
+    }
+
+    @Test
+    void legacyRecordStillRejectsAReorderedBody() {
+        stored(hasher.rawHash(bytes("{\"b\": 2, \"a\": 1}")));
+
+        assertThatThrownBy(() -> service.check(TENANT, "POST /v1/x", "key", "{\"a\": 1, \"b\": 2}"))
+            .isInstanceOf(IdempotencyHashMismatchException.class);
+    }
+
+    @Test
+    void differentPayloadIsRejected() {
+        stored(hasher.hash(bytes("{\"a\":1}")));
+
+        assertThatThrownBy(() -> service.check(TENANT, "POST /v1/x", "key", "{\"a\":2}"))
+            .isInstanceOf(IdempotencyHashMismatchException.class);
+    }
+
+    private void stored(String requestHash) {
+        when(cache.get(any(), any(), any())).thenReturn(Optional.of(
+            new IdempotencyCache.Entry(requestHash, 201, "created", Instant.now().plusSeconds(60))));
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,85 @@
+package com.autorepair.common.idempotency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHasherTest {
+
+    private final RequestHasher hasher = new RequestHasher();
+
+    @Test
+    void objectKeyOrderAndWhitespaceDoNotMatter() {
+        assertThat(hash("{\"b\":{\"y\":2,\"x\":1},\"a\":[1,2]}"))
+            .isEqualTo(hash(" {\n  \"a\" : [ 1, 2 ],\n  \"b\" : { \"x\" : 1, \"y\" : 2 }\n}\n"));
+    }
+
+    @Test
+    void arrayOrderMatters() {
+        assertThat(hash("[1,2]")).isNotEqualTo(hash("[2,1]"));
+    }
+
+    @Test
+    void numbersAreComparedByValue() {
+        assertThat(hash("{\"qty\":1}")).isEqualTo(hash("{\"qty\":1.0}")).isEqualTo(hash("{\"qty\":1.00}"));
+        assertThat(hash("{\"qty\":10}")).isEqualTo(hash("{\"qty\":1E1}"));
+        assertThat(hash("{\"qty\":1}")).isNotEqualTo(hash("{\"qty\":2}"));
+    }
+
+    @Test
+    void valuesOfDifferentTypesDiffer() {
+        assertThat(hash("{\"a\":1}")).isNotEqualTo(hash("{\"a\":\"1\"}"));
+        assertThat(hash("{\"a\":null}")).isNotEqualTo(hash("{\"a\":false}"));
+    }
+
+    @Test
+    void repeatedKeyKeepsItsLastValue() {
+        assertThat(hash("{\"a\":1,\"a\":2}")).isEqualTo(hash("{\"a\":2}"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"plain text", "42", "\"just a string\"", "{\"a\":1} trailing", "{\"a\":1",
+        "[1,2", "{\"a\":}", ""})
+    void anythingButOneJsonDocumentIsHashedByteForByte(String body) {
+        assertThat(hash(body)).isEqualTo(sha256(body));
+    }
+
+    @Test
+    void objectsBeyondTheSortBufferAreHashedByteForByte() {
+        String body = "{\"a\":\"" + "x".repeat(RequestHasher.MAX_SORT_BUFFER) + "\"}";
+        assertThat(hash(body)).isEqualTo(sha256(body));
+    }
+
+    @Test
+    void arraysAreStreamedPastTheSortBuffer() {
+        String big = "x".repeat(RequestHasher.MAX_SORT_BUFFER);
+        assertThat(hash("[ \"" + big + "\" ]")).isEqualTo(hash("[\"" + big + "\"]"));
+    }
+
+    @Test
+    void rawHashIsSha256OfTheBytes() {
+        String body = "{\"b\":1, \"a\":2}";
+        assertThat(hasher.rawHash(body.getBytes(StandardCharsets.UTF_8))).isEqualTo(sha256(body));
+        assertThat(hasher.rawHash(body.getBytes(StandardCharsets.UTF_8))).isNotEqualTo(hash(body));
+    }
+
+    private String hash(String body) {
+        return hasher.hash(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(String body) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.autorepair.common.outbox;
+
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.utils.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keyed partitioning that gives configured hot tenants a band of consecutive
+ * partitions instead of letting them pile onto whatever their keys hash to.
+ * A hot tenant's key always maps to the same partition inside its band, so
+ * per-key ordering holds; other tenants hash exactly like Kafka's default
+ * partitioner, so enabling this moves no existing key.
+ */
+public class HotTenantAwarePartitioner implements Partitioner {
+
+    /**
+     * {@code <tenantId>:<partitions>,...}, e.g. {@code 3f0c...:8}.
+     */
+    public static final String HOT_TENANTS_CONFIG = "outbox.partitioner.hot-tenants";
+
+    private Map<String, Integer> bandWidths = Map.of();
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        Object value = configs.get(HOT_TENANTS_CONFIG);
+        if (value == null || value.toString().isBlank()) {
+            return;
+        }
+        Map<String, Integer> widths = new HashMap<>();
+        for (String entry : value.toString().split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid " + HOT_TENANTS_CONFIG + " entry: " + entry);
+            }
+            widths.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        bandWidths = Map.copyOf(widths);
+    }
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+        int partitions = cluster.partitionsForTopic(topic).size();
+        if (keyBytes == null) {
+            return ThreadLocalRandom.current().nextInt(partitions);
+        }
+        int keyHash = Utils.toPositive(Utils.murmur2(keyBytes));
+        Integer width = bandWidths.isEmpty() ? null : bandWidths.get(tenantOf(key));
+        if (width == null || width <= 1) {
+            return keyHash % partitions;
+        }
+        int bandStart = Utils.toPositive(Utils.murmur2(tenantOf(key).getBytes(StandardCharsets.UTF_8)));
+        // reduce the band start first: bandStart + offset can overflow int
+        return (bandStart % partitions + keyHash % Math.min(width, partitions)) % partitions;
+    }
+
+    private static String tenantOf(Object key) {
+        String text = key.toString();
+        int separator = text.indexOf(':');
+        return separator < 0 ? text : text.substring(0, separator);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,74 @@
+package com.autorepair.common.outbox;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.security.TenantContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/v1/admin/outbox")
+@ConditionalOnProperty(prefix = "outbox.admin", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxAdminController {
+
+    private static final Set<String> ADMIN_ROLES = Set.of("OWNER", "ADMIN");
+
+    private final OutboxDeadLetterService deadLetterService;
+    private final OutboxReplayService replayService;
+
+    @GetMapping("/dlq")
+    public ResponseEntity<Map<String, Long>> deadLetters() {
+        return ResponseEntity.ok(deadLetterService.countByTopic(requireAdminTenant()));
+    }
+
+    @PostMapping("/dlq/replay")
+    public ResponseEntity<Map<String, Integer>> replay(@RequestBody(required = false) ReplayRequest request) {
+        UUID tenantId = requireAdminTenant();
+        String topic = request != null ? request.topic() : null;
+        String eventType = request != null ? request.eventType() : null;
+        int requeued = deadLetterService.replay(tenantId, topic, eventType);
+        return ResponseEntity.accepted().body(Map.of("requeued", requeued));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<OutboxReplayJob> startReplay(@RequestBody OutboxReplayService.ReplayRequest request) {
+        return ResponseEntity.accepted().body(replayService.start(requireAdminTenant(), request));
+    }
+
+    @GetMapping("/replay/{replayId}")
+    public ResponseEntity<OutboxReplayJob> replayStatus(@PathVariable UUID replayId) {
+        return ResponseEntity.ok(findReplay(replayId));
+    }
+
+    @DeleteMapping("/replay/{replayId}")
+    public ResponseEntity<OutboxReplayJob> cancelReplay(@PathVariable UUID replayId) {
+        OutboxReplayJob job = findReplay(replayId);
+        replayService.cancel(job);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    private OutboxReplayJob findReplay(UUID replayId) {
+        return replayService.find(requireAdminTenant(), replayId)
+            .orElseThrow(() -> BusinessException.notFound("Replay not found: " + replayId));
+    }
+
+    private UUID requireAdminTenant() {
+        TenantContext context = TenantContext.get();
+        if (context == null || context.getTenantId() == null) {
+            throw BusinessException.unauthorized("Tenant context required");
+        }
+        if (!context.hasAnyRole(ADMIN_ROLES)) {
+            throw BusinessException.forbidden("Outbox administration requires OWNER or ADMIN role");
+        }
+        return context.getTenantId();
+    }
+
+    public record ReplayRequest(String topic, String eventType) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.autorepair.common.outbox;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+@Component
+@Slf4j
+public class OutboxBatchPublisher {
+
+    private final OutboxRepository repository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxProperties properties;
+    private final OutboxMetrics metrics;
+    private final OutboxRetryPolicy retryPolicy;
+    private final OutboxDeadLetterService deadLetters;
+
+    public OutboxBatchPublisher(OutboxRepository repository,
+                                KafkaTemplate<String, String> kafkaTemplate,
+                                OutboxProperties properties,
+                                OutboxMetrics metrics,
+                                OutboxRetryPolicy retryPolicy,
+                                OutboxDeadLetterService deadLetters) {
+        this.repository = repository;
+        this.kafkaTemplate = new KafkaTemplate<>(kafkaTemplate.getProducerFactory(),
+            Map.of(ProducerConfig.LINGER_MS_CONFIG, properties.getLinger().toMillis()));
+        this.properties = properties;
+        this.metrics = metrics;
+        this.retryPolicy = retryPolicy;
+        this.deadLetters = deadLetters;
+    }
+
+    public BatchResult publishBatch() {
+        return publish(repository.findDue(Instant.now(), properties.getBatchSize()));
+    }
+
+    /**
+     * Sends one batch of pending events without holding a database transaction
+     * across the broker round-trips, then records every outcome with bulk updates.
+     */
+    public BatchResult publish(List<OutboxEvent> batch) {
+        return publish(batch, ids -> repository.markPublished(ids, OutboxEvent.OutboxStatus.PUBLISHED, Instant.now()));
+    }
+
+    /**
+     * Like {@link #publish(List)}, but hands the ids of acknowledged events to
+     * {@code onPublished} instead of marking them PUBLISHED, so a caller can
+     * coalesce that update across batches. Failures are still recorded here.
+     */
+    public BatchResult publish(List<OutboxEvent> batch, Consumer<List<UUID>> onPublished) {
+        if (batch.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+
+        Timer.Sample sample = Timer.start();
+        Map<OutboxEvent, CompletableFuture<?>> sends = sendAll(batch);
+        awaitAll(sends.values());
+
+        List<UUID> published = new ArrayList<>();
+        Map<String, List<UUID>> failedByError = new LinkedHashMap<>();
+        List<OutboxEvent> exhausted = new ArrayList<>();
+        sends.forEach((event, future) -> {
+            String error = errorOf(future);
+            if (error == null) {
+                published.add(event.getId());
+                metrics.latency(event);
+            } else {
+                log.error("Failed to publish event: eventId={}, error={}", event.getId(), error);
+                failedByError.computeIfAbsent(error, e -> new ArrayList<>()).add(event.getId());
+                event.setRetryCount(event.getRetryCount() + 1);
+                event.setErrorMessage(error);
+                if (retryPolicy.exhausted(event.getRetryCount())) {
+                    exhausted.add(event);
+                }
+            }
+        });
+
+        Instant now = Instant.now();
+        if (!published.isEmpty()) {
+            onPublished.accept(published);
+        }
+        failedByError.forEach((error, ids) -> repository.markAttemptFailed(
+            ids, error, properties.getMaxRetries(), now,
+            properties.getRetryBackoff().toMillis(), properties.getMaxRetryBackoff().toMillis()
+        ));
+        deadLetters.route(exhausted);
+
+        int failed = batch.size() - published.size();
+        metrics.published(properties.getMode(), published.size());
+        metrics.failed(properties.getMode(), failed);
+        metrics.batch(batch.size(), sample);
+
+        log.debug("Published outbox batch: size={}, published={}, failed={}",
+            batch.size(), published.size(), failed);
+        return new BatchResult(batch.size(), published.size(), failed);
+    }
+
+    private Map<OutboxEvent, CompletableFuture<?>> sendAll(List<OutboxEvent> batch) {
+        Semaphore inFlight = new Semaphore(Math.max(1, properties.getConcurrency()));
+        Map<OutboxEvent, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            inFlight.acquireUninterruptibly();
+            CompletableFuture<?> future;
+            try {
+                future = kafkaTemplate.send(OutboxRecords.toRecord(event, event.getTopic()));
+            } catch (Exception e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            sends.put(event, future.whenComplete((result, ex) -> inFlight.release()));
+        }
+        return sends;
+    }
+
+    private void awaitAll(Iterable<CompletableFuture<?>> futures) {
+        List<CompletableFuture<?>> all = new ArrayList<>();
+        futures.forEach(all::add);
+        try {
+            CompletableFuture.allOf(all.toArray(new CompletableFuture[0]))
+                .get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // individual outcomes are inspected per future
+        }
+    }
+
+    private String errorOf(CompletableFuture<?> future) {
+        if (!future.isDone()) {
+            return "Timed out waiting for broker acknowledgement";
+        }
+        try {
+            future.join();
+            return null;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws Exception {
+        if (kafkaTemplate.getProducerFactory() instanceof DisposableBean factory) {
+            factory.destroy();
+        }
+    }
+
+    public record BatchResult(int fetched, int published, int failed) {}
+}
@@ -0,0 +1,46 @@
+package com.autorepair.common.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "outbox.cdc")
+@Data
+public class OutboxCdcProperties {
+
+    /**
+     * Logical replication slot holding the relay's position. Postgres keeps WAL
+     * for it until the relay confirms, so drop it when leaving CDC mode.
+     */
+    private String slotName = "outbox_relay";
+
+    private String publicationName = "outbox_events_relay";
+
+    /**
+     * Events buffered from committed transactions before they are sent; smaller
+     * bursts are sent as soon as the stream runs dry.
+     */
+    private int maxBatch = 1000;
+
+    private Duration statusInterval = Duration.ofSeconds(10);
+
+    /**
+     * Acknowledged events are marked PUBLISHED in one UPDATE per interval (or per
+     * {@code max-batch} events), and the slot is confirmed after it; a crash in
+     * between redelivers them.
+     */
+    private Duration publishedFlushInterval = Duration.ofSeconds(1);
+
+    /**
+     * How often the relay queries for PENDING events overdue by more than this
+     * interval: failed sends whose retry backoff elapsed (they never come through
+     * the WAL again), rows committed before the slot existed, and rows still
+     * queued in the WAL when the slot lags, which the stream then skips.
+     */
+    private Duration sweepInterval = Duration.ofSeconds(30);
+
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+}
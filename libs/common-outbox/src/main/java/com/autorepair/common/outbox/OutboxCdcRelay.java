@@ -0,0 +1,396 @@
+package com.autorepair.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGProperty;
+import org.postgresql.replication.LogSequenceNumber;
+import org.postgresql.replication.PGReplicationStream;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Publishes outbox events from the WAL instead of polling: inserts into
+ * {@code outbox_events} arrive through a pgoutput logical replication slot, are
+ * sent through {@link OutboxBatchPublisher}, and only then is the slot position
+ * confirmed. The stream runs no queries of its own: acknowledged events are
+ * marked PUBLISHED in one UPDATE per {@code published-flush-interval} right
+ * before the confirmation. A crash between the broker ack and the confirmation
+ * redelivers the tail of the stream, which consumers already dedupe by event id.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxCdcRelay implements SmartLifecycle {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final String TABLE = "public.outbox_events";
+    private static final long IDLE_SLEEP_MS = 10;
+
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final OutboxProperties properties;
+    private final OutboxCdcProperties cdcProperties;
+    private final OutboxRepository repository;
+    private final OutboxBatchPublisher batchPublisher;
+    private final OutboxDeadLetterService deadLetters;
+    private final OutboxThreads threads;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    // relay thread only
+    private boolean reconnectWarned;
+    private final Set<UUID> unmarked = new LinkedHashSet<>();
+    private LogSequenceNumber unconfirmedLsn;
+    private long confirmDue;
+    private final Set<UUID> skip = new HashSet<>();
+    private LogSequenceNumber skipThrough;
+
+    @Override
+    public void start() {
+        if (properties.getMode() != OutboxProperties.Mode.CDC) {
+            return;
+        }
+        requireIdentifier(cdcProperties.getSlotName());
+        requireIdentifier(cdcProperties.getPublicationName());
+        running = true;
+        thread = threads.start("outbox-cdc-relay", this::relayLoop);
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                prepare();
+                stream();
+            } catch (Exception e) {
+                if (running) {
+                    // another replica holding the slot lands here too and acts as a standby: warn once, not every retry
+                    if (!reconnectWarned) {
+                        log.warn("Outbox CDC relay stopped, reconnecting every {}: {}", cdcProperties.getReconnectDelay(), e.getMessage());
+                        reconnectWarned = true;
+                    } else {
+                        log.debug("Outbox CDC relay reconnect failed: {}", e.getMessage());
+                    }
+                    pause(cdcProperties.getReconnectDelay().toMillis());
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the publication and the slot on first use. Rows committed before the
+     * slot existed never come through the stream; {@link #sweep()} picks them up.
+     */
+    private void prepare() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            if (!exists(connection, "SELECT 1 FROM pg_publication WHERE pubname = ?", cdcProperties.getPublicationName())) {
+                // via the partition root, so daily partitions are covered as they are created
+                statement.execute("CREATE PUBLICATION " + cdcProperties.getPublicationName() + " FOR TABLE " + TABLE
+                    + " WITH (publish = 'insert', publish_via_partition_root = true)");
+                log.info("Created outbox publication {}", cdcProperties.getPublicationName());
+            }
+            if (exists(connection, "SELECT 1 FROM pg_replication_slots WHERE slot_name = ?", cdcProperties.getSlotName())) {
+                return;
+            }
+        }
+        try (Connection replication = openReplicationConnection()) {
+            replication.unwrap(PGConnection.class).getReplicationAPI()
+                .createReplicationSlot()
+                .logical()
+                .withSlotName(cdcProperties.getSlotName())
+                .withOutputPlugin("pgoutput")
+                .make();
+        }
+        log.info("Created outbox replication slot {}", cdcProperties.getSlotName());
+    }
+
+    private void stream() throws Exception {
+        try (Connection replication = openReplicationConnection();
+             PGReplicationStream stream = replication.unwrap(PGConnection.class).getReplicationAPI()
+                 .replicationStream()
+                 .logical()
+                 .withSlotName(cdcProperties.getSlotName())
+                 .withSlotOption("proto_version", 1)
+                 .withSlotOption("publication_names", cdcProperties.getPublicationName())
+                 .withStatusInterval((int) cdcProperties.getStatusInterval().toMillis(), TimeUnit.MILLISECONDS)
+                 .start()) {
+            log.info("Streaming outbox inserts from slot {}", cdcProperties.getSlotName());
+            reconnectWarned = false;
+
+            PgOutputParser parser = new PgOutputParser();
+            List<OutboxEvent> transaction = new ArrayList<>();
+            List<OutboxEvent> ready = new ArrayList<>();
+            LogSequenceNumber readyLsn = null;
+            boolean inTransaction = false;
+            long nextSweep = System.nanoTime();
+
+            while (running) {
+                ByteBuffer message = stream.readPending();
+                if (message == null) {
+                    if (readyLsn != null) {
+                        publish(ready, readyLsn);
+                        readyLsn = null;
+                    }
+                    if (unconfirmedLsn != null) {
+                        confirmIfDue(stream);
+                    } else if (!inTransaction) {
+                        // keepalives move past WAL of unrelated tables; let the slot release it
+                        stream.setFlushedLSN(stream.getLastReceiveLSN());
+                        stream.setAppliedLSN(stream.getLastReceiveLSN());
+                        passed(stream.getLastReceiveLSN());
+                    }
+                    if (System.nanoTime() - nextSweep >= 0) {
+                        sweep(stream);
+                        nextSweep = System.nanoTime() + cdcProperties.getSweepInterval().toNanos();
+                    }
+                    pause(IDLE_SLEEP_MS);
+                    continue;
+                }
+
+                PgOutputParser.Message decoded = parser.parse(message);
+                if (decoded instanceof PgOutputParser.Begin) {
+                    inTransaction = true;
+                    transaction.clear();
+                } else if (decoded instanceof PgOutputParser.Insert insert && TABLE.equals(insert.table())) {
+                    // rows moved out of the default partition come through as inserts too
+                    if ("PENDING".equals(insert.columns().get("status"))) {
+                        transaction.add(toEvent(insert.columns()));
+                    }
+                } else if (decoded instanceof PgOutputParser.Commit commit) {
+                    inTransaction = false;
+                    // a sweep may have sent them while this transaction was arriving
+                    transaction.removeIf(event -> skip.contains(event.getId()));
+                    ready.addAll(transaction);
+                    transaction.clear();
+                    readyLsn = commit.endLsn();
+                    passed(readyLsn);
+                    if (ready.size() >= cdcProperties.getMaxBatch()) {
+                        publish(ready, readyLsn);
+                        readyLsn = null;
+                        confirmIfDue(stream);
+                    }
+                }
+            }
+        } finally {
+            // acknowledged but not confirmed: the slot redelivers them, so record them and skip them then
+            if (!unmarked.isEmpty()) {
+                try {
+                    repository.markPublished(unmarked, OutboxEvent.OutboxStatus.PUBLISHED, Instant.now());
+                } catch (RuntimeException e) {
+                    log.warn("Could not mark relayed outbox events published: count={}", unmarked.size(), e);
+                }
+                skipUntil(unmarked, unconfirmedLsn);
+                unmarked.clear();
+            }
+            unconfirmedLsn = null;
+        }
+    }
+
+    /**
+     * Sends the events of fully received transactions. Failures are recorded at
+     * once (they go to the regular retry path); acknowledged ids wait for
+     * {@link #confirmIfDue} so the stream itself runs no queries.
+     */
+    private void publish(List<OutboxEvent> ready, LogSequenceNumber lsn) {
+        if (!ready.isEmpty()) {
+            batchPublisher.publish(ready, unmarked::addAll);
+            ready.clear();
+        }
+        if (unconfirmedLsn == null) {
+            confirmDue = System.nanoTime() + cdcProperties.getPublishedFlushInterval().toNanos();
+        }
+        unconfirmedLsn = lsn;
+    }
+
+    private void confirmIfDue(PGReplicationStream stream) throws SQLException {
+        if (unconfirmedLsn != null
+                && (unmarked.size() >= cdcProperties.getMaxBatch() || System.nanoTime() - confirmDue >= 0)) {
+            confirm(stream);
+        }
+    }
+
+    /**
+     * Marks everything acknowledged since the last confirmation PUBLISHED in one
+     * UPDATE, then confirms the slot up to it.
+     */
+    private void confirm(PGReplicationStream stream) throws SQLException {
+        if (unconfirmedLsn == null) {
+            return;
+        }
+        if (!unmarked.isEmpty()) {
+            repository.markPublished(unmarked, OutboxEvent.OutboxStatus.PUBLISHED, Instant.now());
+            unmarked.clear();
+        }
+        stream.setFlushedLSN(unconfirmedLsn);
+        stream.setAppliedLSN(unconfirmedLsn);
+        stream.forceUpdateStatus();
+        unconfirmedLsn = null;
+    }
+
+    /**
+     * Publishes PENDING events that are due by more than a sweep interval: failed
+     * sends waiting for their retry, rows that never came through the stream, and,
+     * while the slot lags, rows still queued in the WAL. The ids it sent are kept
+     * with the WAL position read after its queries, and the stream skips them until
+     * it reaches that position, so a lagging slot does not publish them twice. The
+     * next sweep waits until then.
+     */
+    private void sweep(PGReplicationStream stream) {
+        if (skipThrough != null) {
+            return;
+        }
+        try {
+            // rows the stream already sent must not look overdue
+            confirm(stream);
+            List<UUID> attempted = new ArrayList<>();
+            OutboxBatchPublisher.BatchResult result;
+            do {
+                Instant dueBefore = Instant.now().minus(cdcProperties.getSweepInterval());
+                List<OutboxEvent> batch = repository.findDue(dueBefore, properties.getBatchSize());
+                batch.forEach(event -> attempted.add(event.getId()));
+                result = batchPublisher.publish(batch);
+            } while (running && result.fetched() == properties.getBatchSize() && result.failed() == 0
+                && attempted.size() < cdcProperties.getMaxBatch());
+            if (!attempted.isEmpty()) {
+                skipUntil(attempted, currentWalLsn());
+            }
+            deadLetters.routeOutstanding();
+        } catch (Exception e) {
+            log.error("Outbox CDC sweep failed", e);
+        }
+    }
+
+    private void skipUntil(Collection<UUID> ids, LogSequenceNumber lsn) {
+        if (lsn == null) {
+            return;
+        }
+        skip.addAll(ids);
+        if (skipThrough == null || lsn.asLong() > skipThrough.asLong()) {
+            skipThrough = lsn;
+        }
+    }
+
+    // every row skipped so far committed below skipThrough, so none can arrive after it
+    private void passed(LogSequenceNumber lsn) {
+        if (skipThrough != null && lsn != null && lsn.asLong() >= skipThrough.asLong()) {
+            skip.clear();
+            skipThrough = null;
+        }
+    }
+
+    private LogSequenceNumber currentWalLsn() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT pg_current_wal_lsn()")) {
+            resultSet.next();
+            return LogSequenceNumber.valueOf(resultSet.getString(1));
+        }
+    }
+
+    private OutboxEvent toEvent(Map<String, String> columns) {
+        return OutboxEvent.builder()
+            .id(UUID.fromString(columns.get("id")))
+            .tenantId(uuid(columns.get("tenant_id")))
+            .branchId(uuid(columns.get("branch_id")))
+            .aggregateId(uuid(columns.get("aggregate_id")))
+            .partitionKeyStrategy(strategy(columns.get("partition_key_strategy")))
+            .partitionKey(columns.get("partition_key"))
+            .eventType(columns.get("event_type"))
+            .eventVersion(Integer.valueOf(columns.get("event_version")))
+            .occurredAt(instant(columns.get("occurred_at")))
+            .payload(columns.get("payload"))
+            .topic(columns.get("topic"))
+            .status(OutboxEvent.OutboxStatus.PENDING)
+            .retryCount(0)
+            .createdAt(instant(columns.get("created_at")))
+            .build();
+    }
+
+    private static PartitionKeyStrategy strategy(String value) {
+        return value != null ? PartitionKeyStrategy.valueOf(value) : null;
+    }
+
+    private static UUID uuid(String value) {
+        return value != null ? UUID.fromString(value) : null;
+    }
+
+    // the columns are TIMESTAMP without zone, written in the JVM zone like Hibernate does
+    private static Instant instant(String value) {
+        return value != null
+            ? LocalDateTime.parse(value.replace(' ', 'T')).atZone(ZoneId.systemDefault()).toInstant()
+            : null;
+    }
+
+    private Connection openReplicationConnection() throws SQLException {
+        Properties connectionProperties = new Properties();
+        PGProperty.USER.set(connectionProperties, dataSourceProperties.determineUsername());
+        PGProperty.PASSWORD.set(connectionProperties, dataSourceProperties.determinePassword());
+        PGProperty.REPLICATION.set(connectionProperties, "database");
+        PGProperty.ASSUME_MIN_SERVER_VERSION.set(connectionProperties, "10");
+        PGProperty.PREFER_QUERY_MODE.set(connectionProperties, "simple");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), connectionProperties);
+    }
+
+    private static boolean exists(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private static void requireIdentifier(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalStateException("Invalid outbox CDC identifier: " + name);
+        }
+    }
+
+    private void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
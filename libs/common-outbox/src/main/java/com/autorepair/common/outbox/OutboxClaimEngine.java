@@ -0,0 +1,113 @@
+package com.autorepair.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxClaimEngine implements SmartLifecycle {
+
+    private final OutboxClaimer claimer;
+    private final OutboxBatchPublisher batchPublisher;
+    private final OutboxProperties properties;
+    private final OutboxWakeup wakeup;
+    private final OutboxDeadLetterService deadLetters;
+    private final OutboxThreads threads;
+
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    @Override
+    public void start() {
+        if (properties.getMode() != OutboxProperties.Mode.CLAIM) {
+            return;
+        }
+        String instanceId = instanceId();
+        int workerCount = Math.max(1, Math.min(properties.getWorkers(), properties.getPartitions()));
+        workers = Executors.newFixedThreadPool(workerCount, threads.factory("outbox-worker-"));
+        running = true;
+        for (int worker = 0; worker < workerCount; worker++) {
+            int index = worker;
+            workers.submit(() -> runWorker(index, workerCount, instanceId + "-" + index));
+        }
+        log.info("Outbox claim engine started: instanceId={}, workers={}, partitions={}",
+            instanceId, workerCount, properties.getPartitions());
+    }
+
+    private void runWorker(int index, int workerCount, String owner) {
+        OutboxWakeup.IdleBackoff backoff = wakeup.newBackoff();
+        while (running) {
+            long seen = wakeup.generation();
+            boolean backlog = false;
+            if (index == 0) {
+                routeOutstanding(owner);
+            }
+            for (int partition = index; partition < properties.getPartitions() && running; partition += workerCount) {
+                try {
+                    List<OutboxEvent> claimed = claimer.claim(partition, owner);
+                    OutboxBatchPublisher.BatchResult result = batchPublisher.publish(claimed);
+                    if (result.fetched() == properties.getBatchSize() && result.failed() == 0) {
+                        backlog = true;
+                    }
+                } catch (Exception e) {
+                    log.error("Outbox worker failed on partition {}: owner={}", partition, owner, e);
+                }
+            }
+            if (backlog) {
+                backoff.reset();
+                continue;
+            }
+            try {
+                if (wakeup.await(seen, backoff.idle())) {
+                    backoff.reset();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+
+    private void routeOutstanding(String owner) {
+        try {
+            deadLetters.routeOutstanding();
+        } catch (Exception e) {
+            log.error("Outbox dead-letter sweep failed: owner={}", owner, e);
+        }
+    }
+
+    private String instanceId() {
+        if (properties.getInstanceId() != null && !properties.getInstanceId().isBlank()) {
+            return properties.getInstanceId();
+        }
+        String hostname = System.getenv("HOSTNAME");
+        return hostname != null && !hostname.isBlank() ? hostname : UUID.randomUUID().toString();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (workers != null) {
+            workers.shutdownNow();
+            try {
+                workers.awaitTermination(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
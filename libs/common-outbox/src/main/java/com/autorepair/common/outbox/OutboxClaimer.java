@@ -0,0 +1,46 @@
+package com.autorepair.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxClaimer {
+
+    static final int LOCK_NAMESPACE = 0x0B0C;
+
+    private final OutboxRepository repository;
+    private final OutboxProperties properties;
+
+    /**
+     * Leases the oldest pending events of one partition to {@code owner}. The
+     * advisory lock serialises claimers of the same partition across replicas and
+     * a partition that still has a live lease is skipped, so at most one batch per
+     * partition is in flight and per-tenant ordering is kept.
+     */
+    @Transactional
+    public List<OutboxEvent> claim(int partition, String owner) {
+        if (!repository.tryLockPartition(LOCK_NAMESPACE, partition)) {
+            return List.of();
+        }
+
+        Instant now = Instant.now();
+        if (repository.hasActiveLease(properties.getPartitions(), partition, now)) {
+            return List.of();
+        }
+
+        List<OutboxEvent> events = repository.findClaimable(
+            properties.getPartitions(), partition, now, properties.getBatchSize()
+        );
+        if (!events.isEmpty()) {
+            List<UUID> ids = events.stream().map(OutboxEvent::getId).toList();
+            repository.lease(ids, owner, now.plus(properties.getLease()));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,134 @@
+package com.autorepair.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDeadLetterService {
+
+    private final OutboxRepository repository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxProperties properties;
+    private final OutboxMetrics metrics;
+    private final OutboxWakeup wakeup;
+
+    // FAILED rows written before routing existed, or whose DLQ send failed, are
+    // swept once at startup and again whenever routing fails
+    private final AtomicBoolean unrouted = new AtomicBoolean(true);
+
+    /**
+     * Copies events that exhausted their retries to the dead-letter topic of their
+     * original topic and stamps {@code deadLetteredAt} on the ones the broker
+     * acknowledged.
+     */
+    public void route(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<OutboxEvent, CompletableFuture<?>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            try {
+                sends.put(event, kafkaTemplate.send(toRecord(event)));
+            } catch (Exception e) {
+                sends.put(event, CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<UUID> routed = new ArrayList<>();
+        sends.forEach((event, future) -> {
+            try {
+                future.get(properties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                routed.add(event.getId());
+                log.warn("Dead-lettered event after {} retries: eventId={}, topic={}",
+                    event.getRetryCount(), event.getId(), deadLetterTopic(event));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Failed to dead-letter event: eventId={}", event.getId(), e);
+            }
+        });
+
+        if (!routed.isEmpty()) {
+            repository.markDeadLettered(routed, Instant.now());
+            metrics.deadLettered(routed.size());
+        }
+        if (routed.size() < events.size()) {
+            unrouted.set(true);
+        }
+    }
+
+    /**
+     * Routes FAILED events that have not reached their dead-letter topic yet.
+     * Cheap to call on every publishing pass: it only queries after a failure.
+     */
+    public void routeOutstanding() {
+        if (!unrouted.getAndSet(false)) {
+            return;
+        }
+        List<OutboxEvent> outstanding = repository.findByStatusAndDeadLetteredAtIsNullOrderByCreatedAtAsc(
+            OutboxEvent.OutboxStatus.FAILED, PageRequest.of(0, properties.getBatchSize())
+        );
+        route(outstanding);
+        if (outstanding.size() == properties.getBatchSize()) {
+            unrouted.set(true);
+        }
+    }
+
+    public Map<String, Long> countByTopic(UUID tenantId) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : repository.countByTopic(tenantId, OutboxEvent.OutboxStatus.FAILED)) {
+            counts.put(deadLetterTopic((String) row[0]), (Long) row[1]);
+        }
+        return counts;
+    }
+
+    /**
+     * Puts a tenant's dead-lettered events back into the outbox as fresh PENDING
+     * events, optionally narrowed to one original topic and/or event type.
+     */
+    public int replay(UUID tenantId, String topic, String eventType) {
+        int requeued = repository.requeueFailed(
+            tenantId, topic, eventType, Instant.now(),
+            OutboxEvent.OutboxStatus.FAILED, OutboxEvent.OutboxStatus.PENDING
+        );
+        if (requeued > 0) {
+            log.info("Re-enqueued dead-lettered events: tenantId={}, topic={}, eventType={}, count={}",
+                tenantId, topic, eventType, requeued);
+            wakeup.signal();
+        }
+        return requeued;
+    }
+
+    private ProducerRecord<String, String> toRecord(OutboxEvent event) {
+        ProducerRecord<String, String> record = OutboxRecords.toRecord(event, deadLetterTopic(event));
+        OutboxRecords.header(record, OutboxHeaders.ORIGINAL_TOPIC, event.getTopic());
+        OutboxRecords.header(record, OutboxHeaders.ERROR, event.getErrorMessage());
+        OutboxRecords.header(record, OutboxHeaders.RETRY_COUNT, event.getRetryCount());
+        return record;
+    }
+
+    private String deadLetterTopic(OutboxEvent event) {
+        return deadLetterTopic(event.getTopic());
+    }
+
+    private String deadLetterTopic(String topic) {
+        return topic + properties.getDeadLetterSuffix();
+    }
+}
@@ -26,6 +26,18 @@ public class OutboxEvent {
     
     private UUID branchId;
     
+    private UUID aggregateId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private PartitionKeyStrategy partitionKeyStrategy;
+    
+    /**
+     * Kafka record key, derived from the strategy on insert.
+     */
+    @Column(length = 100)
+    private String partitionKey;
+    
     @Column(nullable = false, length = 100)
     private String eventType;
     
@@ -55,17 +67,36 @@ public class OutboxEvent {
     @Column(nullable = false)
     private Instant createdAt;
     
+    @Column(length = 100)
+    private String lockedBy;
+    
+    private Instant lockedUntil;
+    
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+    
+    private Instant deadLetteredAt;
+    
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
             createdAt = Instant.now();
         }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
         if (occurredAt == null) {
             occurredAt = Instant.now();
         }
         if (status == null) {
             status = OutboxStatus.PENDING;
         }
+        if (partitionKeyStrategy == null) {
+            partitionKeyStrategy = PartitionKeyStrategy.AGGREGATE;
+        }
+        if (partitionKey == null) {
+            partitionKey = partitionKeyStrategy.keyFor(tenantId, branchId, aggregateId);
+        }
     }
     
     public enum OutboxStatus {
@@ -0,0 +1,19 @@
+package com.autorepair.common.outbox;
+
+public final class OutboxHeaders {
+
+    public static final String EVENT_ID = "x-event-id";
+    public static final String EVENT_TYPE = "x-event-type";
+    public static final String TENANT_ID = "x-tenant-id";
+    public static final String BRANCH_ID = "x-branch-id";
+    public static final String AGGREGATE_ID = "x-aggregate-id";
+    public static final String PARTITION_KEY_STRATEGY = "x-partition-key-strategy";
+    public static final String ORIGINAL_TOPIC = "x-original-topic";
+    public static final String ERROR = "x-error";
+    public static final String RETRY_COUNT = "x-retry-count";
+    public static final String REPLAY = "x-replay";
+    public static final String REPLAY_ID = "x-replay-id";
+
+    private OutboxHeaders() {
+    }
+}
@@ -0,0 +1,31 @@
+package com.autorepair.common.outbox;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Configuration
+public class OutboxKafkaConfig {
+
+    /**
+     * Installs {@link HotTenantAwarePartitioner} on the service's producer factory,
+     * which the outbox publishers and the dead-letter router share.
+     */
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer outboxPartitionerCustomizer(OutboxProperties properties) {
+        String hotTenants = properties.getHotTenants().entrySet().stream()
+            .map(entry -> entry.getKey() + ":" + entry.getValue())
+            .collect(Collectors.joining(","));
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ProducerConfig.PARTITIONER_CLASS_CONFIG, HotTenantAwarePartitioner.class.getName());
+        if (!hotTenants.isEmpty()) {
+            configs.put(HotTenantAwarePartitioner.HOT_TENANTS_CONFIG, hotTenants);
+        }
+        return factory -> factory.updateConfigs(configs);
+    }
+}
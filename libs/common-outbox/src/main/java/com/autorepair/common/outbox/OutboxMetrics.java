@@ -0,0 +1,84 @@
+package com.autorepair.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class OutboxMetrics {
+
+    private final MeterRegistry registry;
+    private final DistributionSummary batchSize;
+    private final Timer batchDuration;
+    private final Timer latency;
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+    public OutboxMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.batchSize = DistributionSummary.builder("outbox.batch.size")
+            .description("Number of outbox events fetched per publish batch")
+            .register(registry);
+        this.batchDuration = Timer.builder("outbox.batch.duration")
+            .description("Time to send a batch and record its outcome")
+            .register(registry);
+        this.latency = Timer.builder("outbox.event.latency")
+            .description("Time from outbox insert to broker acknowledgement")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(registry);
+        Gauge.builder("outbox.partition.default.rows", defaultPartitionRows, AtomicLong::get)
+            .description("Rows left in the default outbox partition after maintenance; should stay 0")
+            .register(registry);
+    }
+
+    public void latency(OutboxEvent event) {
+        if (event.getCreatedAt() != null) {
+            latency.record(Duration.between(event.getCreatedAt(), Instant.now()));
+        }
+    }
+
+    public void published(OutboxProperties.Mode mode, int count) {
+        if (count > 0) {
+            counter("outbox.events.published", mode).increment(count);
+        }
+    }
+
+    public void failed(OutboxProperties.Mode mode, int count) {
+        if (count > 0) {
+            counter("outbox.events.failed", mode).increment(count);
+        }
+    }
+
+    public void deadLettered(int count) {
+        registry.counter("outbox.events.dead_lettered").increment(count);
+    }
+
+    public void partitionExpired(OutboxRetentionProperties.Action action) {
+        Counter.builder("outbox.partitions.expired")
+            .tag("action", action.name().toLowerCase())
+            .register(registry)
+            .increment();
+    }
+
+    public void defaultPartitionRows(long rows) {
+        defaultPartitionRows.set(rows);
+    }
+
+    public void batch(int size, Timer.Sample sample) {
+        batchSize.record(size);
+        sample.stop(batchDuration);
+    }
+
+    private Counter counter(String name, OutboxProperties.Mode mode) {
+        return Counter.builder(name)
+            .tag("mode", mode.name().toLowerCase())
+            .register(registry);
+    }
+}
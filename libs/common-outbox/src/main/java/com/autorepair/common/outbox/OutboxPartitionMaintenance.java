@@ -0,0 +1,261 @@
+package com.autorepair.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPartitionMaintenance {
+
+    private static final int LOCK_KEY = -1;
+    private static final String PARENT = "outbox_events";
+    private static final String DEFAULT = PARENT + "_default";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    // SQLSTATE of a lock_timeout expiry
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final DataSource dataSource;
+    private final OutboxRetentionProperties properties;
+    private final OutboxMetrics metrics;
+
+    /**
+     * Keeps daily partitions ready ahead of time, moves stray rows out of the
+     * default partition and removes expired partitions that
+     * only hold PUBLISHED or dead-lettered rows; a dead letter's copy lives on in
+     * its DLQ topic. Only one replica runs it at a time; DDL waits at most
+     * {@code lock-timeout} for its locks, so it never stalls outbox inserts for
+     * long, and whatever timed out is retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${outbox.retention.interval:PT1H}", initialDelayString = "${outbox.retention.initial-delay:PT1M}")
+    public void maintain() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            if (!tryLock(connection)) {
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET lock_timeout = '" + properties.getLockTimeout().toMillis() + "ms'");
+            }
+            try {
+                LocalDateTime now = databaseNow(connection);
+                drainDefault(connection);
+                premake(connection, now.toLocalDate());
+                if (properties.isEnabled()) {
+                    expire(connection, now.minus(properties.getRetention()));
+                }
+                metrics.defaultPartitionRows(countRows(connection, DEFAULT));
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET lock_timeout");
+                }
+                unlock(connection);
+            }
+        } catch (SQLException e) {
+            log.error("Outbox partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Moves rows that landed in the default partition, because maintenance missed
+     * their day, into a partition of that day. The default partition is detached
+     * while a day is moved, so concurrent inserts wait instead of landing there.
+     */
+    private void drainDefault(Connection connection) throws SQLException {
+        for (LocalDate day : daysInDefault(connection)) {
+            String partition = partitionName(day);
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + DEFAULT);
+                statement.execute(createPartition(day));
+                int moved = statement.executeUpdate("WITH moved AS (DELETE FROM " + DEFAULT
+                    + " WHERE created_at >= '" + day + "' AND created_at < '" + day.plusDays(1) + "' RETURNING *) "
+                    + "INSERT INTO " + partition + " SELECT * FROM moved");
+                statement.execute("ALTER TABLE " + PARENT + " ATTACH PARTITION " + DEFAULT + " DEFAULT");
+                connection.commit();
+                log.info("Moved outbox rows out of the default partition: partition={}, rows={}", partition, moved);
+            } catch (SQLException e) {
+                connection.rollback();
+                if (LOCK_NOT_AVAILABLE.equals(e.getSQLState())) {
+                    log.warn("Outbox table is busy, moving default partition rows into {} on the next run", partition);
+                } else {
+                    log.error("Could not move default partition rows into outbox partition {}", partition, e);
+                }
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private List<LocalDate> daysInDefault(Connection connection) throws SQLException {
+        List<LocalDate> days = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT DISTINCT CAST(created_at AS DATE) FROM " + DEFAULT + " ORDER BY 1")) {
+            while (rs.next()) {
+                days.add(rs.getDate(1).toLocalDate());
+            }
+        }
+        return days;
+    }
+
+    private void premake(Connection connection, LocalDate today) {
+        for (int day = 0; day <= properties.getPremakeDays(); day++) {
+            LocalDate from = today.plusDays(day);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(createPartition(from));
+            } catch (SQLException e) {
+                // rows for that day arrived in the default partition since drainDefault; the next run moves them
+                log.error("Could not create outbox partition {}", partitionName(from), e);
+            }
+        }
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARENT + "_p" + day.format(SUFFIX);
+    }
+
+    private static String createPartition(LocalDate day) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF " + PARENT
+            + " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')";
+    }
+
+    private void expire(Connection connection, LocalDateTime cutoff) throws SQLException {
+        for (String partition : expiredPartitions(connection, cutoff)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                // SHARE blocks writes such as a DLQ requeue between the check and the drop
+                statement.execute("LOCK TABLE " + partition + " IN SHARE MODE");
+                if (hasUnpublishedRows(connection, partition)) {
+                    connection.rollback();
+                    log.warn("Keeping expired outbox partition {}: it still holds events not yet published or dead-lettered", partition);
+                    continue;
+                }
+                if (properties.getExportDirectory() != null && !properties.getExportDirectory().isBlank()) {
+                    export(connection, partition);
+                }
+                statement.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + partition);
+                if (properties.getAction() == OutboxRetentionProperties.Action.DROP) {
+                    statement.execute("DROP TABLE " + partition);
+                }
+                connection.commit();
+                metrics.partitionExpired(properties.getAction());
+                log.info("Expired outbox partition {}: action={}", partition, properties.getAction());
+            } catch (SQLException e) {
+                connection.rollback();
+                if (LOCK_NOT_AVAILABLE.equals(e.getSQLState())) {
+                    // e.g. a replay cursor still reads outbox_events
+                    log.warn("Outbox partition {} is busy, retrying on the next run", partition);
+                } else {
+                    log.error("Failed to expire outbox partition {}", partition, e);
+                }
+            } catch (IOException e) {
+                connection.rollback();
+                log.error("Failed to expire outbox partition {}", partition, e);
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private List<String> expiredPartitions(Connection connection, LocalDateTime cutoff) throws SQLException {
+        String sql = "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = '" + PARENT + "'::regclass ORDER BY c.relname";
+        List<String> expired = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                Matcher bound = UPPER_BOUND.matcher(rs.getString(2));
+                if (bound.find() && !Timestamp.valueOf(bound.group(1)).toLocalDateTime().isAfter(cutoff)) {
+                    expired.add(rs.getString(1));
+                }
+            }
+        }
+        return expired;
+    }
+
+    private boolean hasUnpublishedRows(Connection connection, String partition) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE status <> 'PUBLISHED' "
+                     + "AND NOT (status = 'FAILED' AND dead_lettered_at IS NOT NULL))")) {
+            rs.next();
+            return rs.getBoolean(1);
+        }
+    }
+
+    private long countRows(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void export(Connection connection, String partition) throws SQLException, IOException {
+        Path directory = Paths.get(properties.getExportDirectory());
+        Files.createDirectories(directory);
+        Path target = directory.resolve(partition + ".csv.gz");
+        Path partial = directory.resolve(partition + ".csv.gz.partial");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial))) {
+            long rows = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyOut("COPY " + partition + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+            log.info("Exported outbox partition {}: rows={}, file={}", partition, rows, target);
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private LocalDateTime databaseNow(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT LOCALTIMESTAMP")) {
+            rs.next();
+            return rs.getTimestamp(1).toLocalDateTime();
+        }
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, OutboxClaimer.LOCK_NAMESPACE);
+            statement.setInt(2, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            statement.setInt(1, OutboxClaimer.LOCK_NAMESPACE);
+            statement.setInt(2, LOCK_KEY);
+            statement.execute();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.autorepair.common.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@ConfigurationProperties(prefix = "outbox.publisher")
+@Data
+public class OutboxProperties {
+
+    /**
+     * SINGLE keeps the original one-event-at-a-time loop, BATCH sends a whole
+     * batch asynchronously and records the outcome with bulk updates, CLAIM runs
+     * batched workers that lease disjoint partitions so several replicas can
+     * publish in parallel without duplicates. CDC streams inserts from a logical
+     * replication slot instead of querying the table (needs wal_level=logical).
+     */
+    private Mode mode = Mode.SINGLE;
+
+    private int batchSize = 100;
+
+    /**
+     * Producer linger applied to the batch publisher's template so that the
+     * records of one batch are coalesced into few produce requests.
+     */
+    private Duration linger = Duration.ofMillis(5);
+
+    /**
+     * Maximum number of sends in flight at once in BATCH mode.
+     */
+    private int concurrency = 100;
+
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    private int maxRetries = 5;
+
+    /**
+     * Delay before the first retry; doubles per attempt up to the max retry
+     * backoff, with equal jitter so failed events spread out instead of
+     * hammering the broker in lock-step.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+    /**
+     * Events that exhaust their retries are copied to {@code <topic><suffix>}.
+     */
+    private String deadLetterSuffix = ".dlq";
+
+    /**
+     * Worker threads per replica in CLAIM mode.
+     */
+    private int workers = 4;
+
+    /**
+     * Number of hash partitions the outbox is split into in CLAIM mode. Events of
+     * one tenant always fall into the same partition, and a partition is drained
+     * by at most one worker across all replicas at a time.
+     */
+    private int partitions = 16;
+
+    private Duration lease = Duration.ofSeconds(30);
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * POLL drains every poll interval. NOTIFY drains as soon as Postgres signals
+     * a committed insert on the outbox channel and only falls back to polling,
+     * backing off from the poll interval up to the max poll interval while idle.
+     */
+    private Wakeup wakeup = Wakeup.POLL;
+
+    private Duration maxPollInterval = Duration.ofSeconds(30);
+
+    private String notifyChannel = "outbox_events";
+
+    /**
+     * Identifies this replica in lease ownership; defaults to the host name.
+     */
+    private String instanceId;
+
+    /**
+     * Tenants too large for one Kafka partition, mapped to the number of
+     * partitions their keys are spread over (see HotTenantAwarePartitioner).
+     */
+    private Map<UUID, Integer> hotTenants = new HashMap<>();
+
+    public enum Wakeup {
+        POLL,
+        NOTIFY
+    }
+
+    public enum Mode {
+        SINGLE,
+        BATCH,
+        CLAIM,
+        CDC
+    }
+}
@@ -3,55 +3,147 @@ package com.autorepair.common.outbox;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class OutboxPublisher {
-    
+public class OutboxPublisher implements SmartLifecycle {
+
     private final OutboxRepository repository;
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
-    
-    @Scheduled(fixedDelay = 1000)
-    @Transactional
-    public void publishPendingEvents() {
-        List<OutboxEvent> pending = repository.findTop100ByStatusOrderByCreatedAtAsc(
-            OutboxEvent.OutboxStatus.PENDING
-        );
-        
+    private final OutboxProperties properties;
+    private final OutboxBatchPublisher batchPublisher;
+    private final OutboxMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxWakeup wakeup;
+    private final OutboxRetryPolicy retryPolicy;
+    private final OutboxDeadLetterService deadLetters;
+    private final OutboxThreads threads;
+
+    private volatile boolean running;
+    private Thread drainThread;
+
+    @Override
+    public void start() {
+        if (properties.getMode() == OutboxProperties.Mode.CLAIM || properties.getMode() == OutboxProperties.Mode.CDC) {
+            // drained by the OutboxClaimEngine workers or the OutboxCdcRelay
+            return;
+        }
+        running = true;
+        drainThread = threads.start("outbox-publisher", this::drainLoop);
+    }
+
+    private void drainLoop() {
+        OutboxWakeup.IdleBackoff backoff = wakeup.newBackoff();
+        while (running) {
+            long seen = wakeup.generation();
+            boolean backlog = false;
+            try {
+                backlog = publishPendingEvents();
+            } catch (Exception e) {
+                log.error("Outbox publishing pass failed", e);
+            }
+            if (backlog) {
+                backoff.reset();
+                continue;
+            }
+            try {
+                if (wakeup.await(seen, backoff.idle())) {
+                    backoff.reset();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs one publishing pass.
+     *
+     * @return {@code true} when a full batch was published without failures, i.e.
+     *         more events are probably waiting
+     */
+    public boolean publishPendingEvents() {
+        deadLetters.routeOutstanding();
+        if (properties.getMode() == OutboxProperties.Mode.BATCH) {
+            OutboxBatchPublisher.BatchResult result = batchPublisher.publishBatch();
+            return result.fetched() == properties.getBatchSize() && result.failed() == 0;
+        }
+        Boolean backlog = transactionTemplate.execute(status -> publishOneByOne());
+        return Boolean.TRUE.equals(backlog);
+    }
+
+    private boolean publishOneByOne() {
+        List<OutboxEvent> pending = repository.findDue(Instant.now(), 100);
+
+        boolean failures = false;
+        // a failed event holds back the rest of its key for this pass, as findDue does across passes
+        Set<String> failedKeys = new HashSet<>();
         for (OutboxEvent event : pending) {
+            if (event.getPartitionKey() != null && failedKeys.contains(event.getPartitionKey())) {
+                continue;
+            }
             try {
-                kafkaTemplate.send(event.getTopic(), event.getPayload()).get();
-                
+                kafkaTemplate.send(OutboxRecords.toRecord(event, event.getTopic())).get();
+
                 event.setStatus(OutboxEvent.OutboxStatus.PUBLISHED);
                 event.setPublishedAt(Instant.now());
                 repository.save(event);
-                
-                log.info("Published event: eventType={}, eventId={}", 
+                metrics.published(OutboxProperties.Mode.SINGLE, 1);
+                metrics.latency(event);
+
+                log.info("Published event: eventType={}, eventId={}",
                     event.getEventType(), event.getId());
-                
+
             } catch (Exception e) {
                 log.error("Failed to publish event: eventId={}", event.getId(), e);
-                
+
                 event.setRetryCount(event.getRetryCount() + 1);
                 event.setErrorMessage(e.getMessage());
-                
-                if (event.getRetryCount() >= 5) {
+                event.setNextAttemptAt(retryPolicy.nextAttemptAt(event.getRetryCount() - 1, Instant.now()));
+
+                boolean exhausted = retryPolicy.exhausted(event.getRetryCount());
+                if (exhausted) {
                     event.setStatus(OutboxEvent.OutboxStatus.FAILED);
-                    log.error("Event failed after {} retries: eventId={}", 
+                    log.error("Event failed after {} retries: eventId={}",
                         event.getRetryCount(), event.getId());
                 }
-                
+
                 repository.save(event);
+                if (exhausted) {
+                    deadLetters.route(List.of(event));
+                }
+                metrics.failed(OutboxProperties.Mode.SINGLE, 1);
+                if (event.getPartitionKey() != null && !exhausted) {
+                    failedKeys.add(event.getPartitionKey());
+                }
+                failures = true;
             }
         }
+        return pending.size() == 100 && !failures;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (drainThread != null) {
+            drainThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
     }
 }
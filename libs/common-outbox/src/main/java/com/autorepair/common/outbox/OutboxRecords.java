@@ -0,0 +1,40 @@
+package com.autorepair.common.outbox;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+import java.nio.charset.StandardCharsets;
+
+final class OutboxRecords {
+
+    private OutboxRecords() {
+    }
+
+    /**
+     * Keyed record for an outbox event, carrying its identity and partitioning
+     * metadata as headers. Rows written before keys existed fall back to the
+     * tenant key.
+     */
+    static ProducerRecord<String, String> toRecord(OutboxEvent event, String topic) {
+        PartitionKeyStrategy strategy = event.getPartitionKeyStrategy() != null
+            ? event.getPartitionKeyStrategy()
+            : PartitionKeyStrategy.TENANT;
+        String key = event.getPartitionKey() != null
+            ? event.getPartitionKey()
+            : strategy.keyFor(event.getTenantId(), event.getBranchId(), event.getAggregateId());
+
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, key, event.getPayload());
+        header(record, OutboxHeaders.EVENT_ID, event.getId());
+        header(record, OutboxHeaders.EVENT_TYPE, event.getEventType());
+        header(record, OutboxHeaders.TENANT_ID, event.getTenantId());
+        header(record, OutboxHeaders.BRANCH_ID, event.getBranchId());
+        header(record, OutboxHeaders.AGGREGATE_ID, event.getAggregateId());
+        header(record, OutboxHeaders.PARTITION_KEY_STRATEGY, strategy);
+        return record;
+    }
+
+    static void header(ProducerRecord<String, String> record, String name, Object value) {
+        if (value != null) {
+            record.headers().add(name, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
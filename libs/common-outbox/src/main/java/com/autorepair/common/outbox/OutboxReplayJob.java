@@ -0,0 +1,50 @@
+package com.autorepair.common.outbox;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class OutboxReplayJob {
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID tenantId;
+    private final OutboxReplayService.ReplayRequest request;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile State state = State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    OutboxReplayJob(UUID tenantId, OutboxReplayService.ReplayRequest request) {
+        this.tenantId = tenantId;
+        this.request = request;
+    }
+
+    void finish(State state, String error) {
+        this.state = state;
+        this.error = error;
+        this.finishedAt = Instant.now();
+    }
+
+    void cancel() {
+        if (state == State.RUNNING) {
+            state = State.CANCELLING;
+        }
+    }
+
+    boolean cancelRequested() {
+        return state == State.CANCELLING;
+    }
+
+    public enum State {
+        RUNNING,
+        CANCELLING,
+        CANCELLED,
+        COMPLETED,
+        FAILED
+    }
+}
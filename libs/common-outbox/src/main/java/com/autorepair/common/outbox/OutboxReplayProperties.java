@@ -0,0 +1,36 @@
+package com.autorepair.common.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "outbox.replay")
+@Data
+public class OutboxReplayProperties {
+
+    /**
+     * Replayed events go to {@code <original topic><suffix>} unless a request
+     * names its own target topic.
+     */
+    private String topicSuffix = ".replay";
+
+    /**
+     * Target topics a request may name besides ones ending in the suffix; live
+     * topics are never a valid target unless listed here.
+     */
+    private List<String> allowedTargetTopics = new ArrayList<>();
+
+    private int maxEventsPerSecond = 5000;
+
+    /**
+     * Rows fetched per cursor round trip; the only rows held in memory besides
+     * the in-flight sends.
+     */
+    private int fetchSize = 1000;
+
+    private int maxInFlight = 500;
+}
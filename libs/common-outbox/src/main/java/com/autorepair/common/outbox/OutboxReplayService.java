@@ -0,0 +1,201 @@
+package com.autorepair.common.outbox;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.error.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-publishes historical outbox rows of one tenant to replay topics so new
+ * consumers can build their projections. Rows are streamed through a
+ * server-side cursor and sends are bounded in flight, so memory stays flat
+ * however many events a replay covers. Only rows still in {@code outbox_events}
+ * can be replayed, i.e. at most {@code outbox.retention.retention} back;
+ * exported partition archives have to be attached again first (RUNBOOK).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxReplayService {
+
+    private static final String SELECT_EVENTS =
+        "SELECT id, tenant_id, branch_id, aggregate_id, event_type, payload, topic, " +
+        "partition_key, partition_key_strategy FROM outbox_events " +
+        "WHERE tenant_id = ? AND status = 'PUBLISHED' AND created_at >= ? AND created_at < ?";
+    private static final String BY_EVENT_TYPE = " AND event_type = ANY(?)";
+    private static final String ORDER = " ORDER BY created_at";
+    private static final Duration KEEP_FINISHED = Duration.ofDays(1);
+
+    private final DataSource dataSource;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final OutboxReplayProperties properties;
+
+    private final Map<UUID, OutboxReplayJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Starts a replay in the background; one replay runs per replica at a time.
+     */
+    public synchronized OutboxReplayJob start(UUID tenantId, ReplayRequest request) {
+        if (request == null || request.from() == null || request.to() == null || !request.from().isBefore(request.to())) {
+            throw new BusinessException(ErrorCode.ERR_VALIDATION_FAILED,
+                "Replay needs a time range with from before to", "error.validation.failed", HttpStatus.BAD_REQUEST);
+        }
+        String target = request.targetTopic();
+        if (target != null && !target.endsWith(properties.getTopicSuffix())
+                && !properties.getAllowedTargetTopics().contains(target)) {
+            throw new BusinessException(ErrorCode.ERR_VALIDATION_FAILED,
+                "Replay target topic must end with " + properties.getTopicSuffix() + " or be allowed in outbox.replay.allowed-target-topics",
+                "error.validation.failed", HttpStatus.BAD_REQUEST);
+        }
+        Instant cutoff = Instant.now().minus(KEEP_FINISHED);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+        boolean busy = jobs.values().stream().anyMatch(job ->
+            job.getState() == OutboxReplayJob.State.RUNNING || job.getState() == OutboxReplayJob.State.CANCELLING);
+        if (busy) {
+            throw BusinessException.conflict("An outbox replay is already running");
+        }
+        OutboxReplayJob job = new OutboxReplayJob(tenantId, request);
+        jobs.put(job.getId(), job);
+        executor.submit(() -> run(job));
+        log.info("Started outbox replay: replayId={}, tenantId={}, eventTypes={}, from={}, to={}",
+            job.getId(), tenantId, request.eventTypes(), request.from(), request.to());
+        return job;
+    }
+
+    public Optional<OutboxReplayJob> find(UUID tenantId, UUID replayId) {
+        return Optional.ofNullable(jobs.get(replayId)).filter(job -> job.getTenantId().equals(tenantId));
+    }
+
+    private void run(OutboxReplayJob job) {
+        ReplayRequest request = job.getRequest();
+        Semaphore inFlight = new Semaphore(Math.max(1, properties.getMaxInFlight()));
+        long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, properties.getMaxEventsPerSecond());
+        long nextSend = System.nanoTime();
+
+        try (Connection connection = dataSource.getConnection()) {
+            // pgjdbc only streams through a cursor inside a transaction
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            boolean byEventType = request.eventTypes() != null && !request.eventTypes().isEmpty();
+            String sql = SELECT_EVENTS + (byEventType ? BY_EVENT_TYPE : "") + ORDER;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setFetchSize(properties.getFetchSize());
+                statement.setObject(1, job.getTenantId());
+                statement.setTimestamp(2, Timestamp.from(request.from()));
+                statement.setTimestamp(3, Timestamp.from(request.to()));
+                if (byEventType) {
+                    statement.setArray(4, connection.createArrayOf("text", request.eventTypes().toArray()));
+                }
+
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next() && !job.cancelRequested()) {
+                        nextSend = pace(nextSend, interval);
+                        inFlight.acquire();
+                        send(job, rows).whenComplete((result, ex) -> {
+                            if (ex != null) {
+                                job.getFailed().incrementAndGet();
+                            } else {
+                                job.getSent().incrementAndGet();
+                            }
+                            inFlight.release();
+                        });
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+            inFlight.acquire(Math.max(1, properties.getMaxInFlight()));
+            kafkaTemplate.flush();
+            job.finish(job.cancelRequested() ? OutboxReplayJob.State.CANCELLED : OutboxReplayJob.State.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(OutboxReplayJob.State.CANCELLED, "Interrupted");
+        } catch (SQLException | RuntimeException e) {
+            log.error("Outbox replay failed: replayId={}", job.getId(), e);
+            job.finish(OutboxReplayJob.State.FAILED, e.getMessage());
+        }
+        log.info("Outbox replay finished: replayId={}, state={}, sent={}, failed={}",
+            job.getId(), job.getState(), job.getSent(), job.getFailed());
+    }
+
+    private CompletableFuture<?> send(OutboxReplayJob job, ResultSet row) throws SQLException {
+        String strategy = row.getString("partition_key_strategy");
+        OutboxEvent event = OutboxEvent.builder()
+            .id(row.getObject("id", UUID.class))
+            .tenantId(row.getObject("tenant_id", UUID.class))
+            .branchId(row.getObject("branch_id", UUID.class))
+            .aggregateId(row.getObject("aggregate_id", UUID.class))
+            .eventType(row.getString("event_type"))
+            .payload(row.getString("payload"))
+            .topic(row.getString("topic"))
+            .partitionKey(row.getString("partition_key"))
+            .partitionKeyStrategy(strategy != null ? PartitionKeyStrategy.valueOf(strategy) : null)
+            .build();
+
+        String topic = job.getRequest().targetTopic() != null
+            ? job.getRequest().targetTopic()
+            : event.getTopic() + properties.getTopicSuffix();
+        ProducerRecord<String, String> record = OutboxRecords.toRecord(event, topic);
+        OutboxRecords.header(record, OutboxHeaders.REPLAY, Boolean.TRUE);
+        OutboxRecords.header(record, OutboxHeaders.REPLAY_ID, job.getId());
+        OutboxRecords.header(record, OutboxHeaders.ORIGINAL_TOPIC, event.getTopic());
+        try {
+            return kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static long pace(long nextSend, long interval) {
+        long wait = nextSend - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+            return nextSend + interval;
+        }
+        // behind schedule: do not build up a burst allowance
+        return System.nanoTime() + interval;
+    }
+
+    public void cancel(OutboxReplayJob job) {
+        job.cancel();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(OutboxReplayJob::cancel);
+        executor.shutdownNow();
+    }
+
+    public record ReplayRequest(List<String> eventTypes, Instant from, Instant to, String targetTopic) {
+    }
+}
@@ -1,13 +1,110 @@
 package com.autorepair.common.outbox;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface OutboxRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    String PARTITION_OF_ROW = "(hashtext(CAST(tenant_id AS text)) & 2147483647) % :partitions";
+
+    /**
+     * Holds a row back while an older row with the same record key waits out its
+     * retry backoff, so the key's events still reach the broker in order.
+     */
+    String NOT_BEHIND_RETRY = "NOT EXISTS (SELECT 1 FROM outbox_events w " +
+        "WHERE w.partition_key = outbox_events.partition_key AND w.status = 'PENDING' AND w.retry_count > 0 " +
+        "AND w.next_attempt_at > :now AND w.created_at < outbox_events.created_at)";
     
     List<OutboxEvent> findTop100ByStatusOrderByCreatedAtAsc(OutboxEvent.OutboxStatus status);
+
+    @Query(value = "SELECT * FROM outbox_events WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "AND " + NOT_BEHIND_RETRY + " ORDER BY created_at LIMIT :limit",
+           nativeQuery = true)
+    List<OutboxEvent> findDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    List<OutboxEvent> findByStatusAndDeadLetteredAtIsNullOrderByCreatedAtAsc(
+        OutboxEvent.OutboxStatus status, Pageable pageable
+    );
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.publishedAt = :publishedAt, e.errorMessage = NULL, " +
+           "e.lockedBy = NULL, e.lockedUntil = NULL WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<UUID> ids,
+                      @Param("status") OutboxEvent.OutboxStatus status,
+                      @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE outbox_events SET retry_count = retry_count + 1, error_message = :errorMessage, " +
+                   "status = CASE WHEN retry_count + 1 >= :maxRetries THEN 'FAILED' ELSE status END, " +
+                   "next_attempt_at = :now + LEAST(:maxBackoffMs, :backoffMs * power(2, retry_count)) " +
+                   "* (0.5 + random() / 2) * INTERVAL '1 millisecond', " +
+                   "locked_by = NULL, locked_until = NULL WHERE id IN (:ids)",
+           nativeQuery = true)
+    int markAttemptFailed(@Param("ids") Collection<UUID> ids,
+                          @Param("errorMessage") String errorMessage,
+                          @Param("maxRetries") int maxRetries,
+                          @Param("now") Instant now,
+                          @Param("backoffMs") long backoffMs,
+                          @Param("maxBackoffMs") long maxBackoffMs);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.deadLetteredAt = :deadLetteredAt WHERE e.id IN :ids")
+    int markDeadLettered(@Param("ids") Collection<UUID> ids, @Param("deadLetteredAt") Instant deadLetteredAt);
+
+    @Query("SELECT e.topic, COUNT(e) FROM OutboxEvent e WHERE e.tenantId = :tenantId AND e.status = :status " +
+           "GROUP BY e.topic")
+    List<Object[]> countByTopic(@Param("tenantId") UUID tenantId, @Param("status") OutboxEvent.OutboxStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = :pendingStatus, e.retryCount = 0, e.errorMessage = NULL, " +
+           "e.nextAttemptAt = :now, e.deadLetteredAt = NULL " +
+           "WHERE e.tenantId = :tenantId AND e.status = :failedStatus " +
+           "AND (:topic IS NULL OR e.topic = :topic) AND (:eventType IS NULL OR e.eventType = :eventType)")
+    int requeueFailed(@Param("tenantId") UUID tenantId,
+                      @Param("topic") String topic,
+                      @Param("eventType") String eventType,
+                      @Param("now") Instant now,
+                      @Param("failedStatus") OutboxEvent.OutboxStatus failedStatus,
+                      @Param("pendingStatus") OutboxEvent.OutboxStatus pendingStatus);
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:namespace, :partition)", nativeQuery = true)
+    boolean tryLockPartition(@Param("namespace") int namespace, @Param("partition") int partition);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM outbox_events WHERE status = 'PENDING' " +
+                   "AND locked_until > :now AND " + PARTITION_OF_ROW + " = :partition)",
+           nativeQuery = true)
+    boolean hasActiveLease(@Param("partitions") int partitions,
+                           @Param("partition") int partition,
+                           @Param("now") Instant now);
+
+    @Query(value = "SELECT * FROM outbox_events WHERE status = 'PENDING' " +
+                   "AND (locked_until IS NULL OR locked_until < :now) AND next_attempt_at <= :now " +
+                   "AND " + PARTITION_OF_ROW + " = :partition AND " + NOT_BEHIND_RETRY + " " +
+                   "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> findClaimable(@Param("partitions") int partitions,
+                                    @Param("partition") int partition,
+                                    @Param("now") Instant now,
+                                    @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.lockedBy = :owner, e.lockedUntil = :lockedUntil WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<UUID> ids,
+              @Param("owner") String owner,
+              @Param("lockedUntil") Instant lockedUntil);
 }
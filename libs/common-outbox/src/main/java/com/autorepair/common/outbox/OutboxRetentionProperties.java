@@ -0,0 +1,54 @@
+package com.autorepair.common.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "outbox.retention")
+@Data
+public class OutboxRetentionProperties {
+
+    /**
+     * Daily partitions are always pre-created; this only switches removal of old
+     * partitions on or off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * A partition is removed once its upper bound is older than this and every row
+     * in it is PUBLISHED.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Number of future daily partitions kept ready so inserts never land in the
+     * default partition.
+     */
+    private int premakeDays = 7;
+
+    /**
+     * DROP deletes an expired partition, DETACH leaves it as a standalone table
+     * for an external archiver.
+     */
+    private Action action = Action.DROP;
+
+    /**
+     * When set, expired partitions are exported to {@code <dir>/<partition>.csv.gz}
+     * before they are detached or dropped.
+     */
+    private String exportDirectory;
+
+    /**
+     * Longest wait for the locks of partition DDL. Outbox inserts queue behind a
+     * waiting DETACH, so this stays short; a timed-out step is retried next run.
+     */
+    private Duration lockTimeout = Duration.ofSeconds(5);
+
+    public enum Action {
+        DROP,
+        DETACH
+    }
+}
@@ -0,0 +1,31 @@
+package com.autorepair.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxRetryPolicy {
+
+    private final OutboxProperties properties;
+
+    public boolean exhausted(int retryCount) {
+        return retryCount >= properties.getMaxRetries();
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half of the capped delay is fixed and
+     * the other half random. The bulk failure update in {@link OutboxRepository}
+     * computes the same schedule in SQL.
+     */
+    public Instant nextAttemptAt(int previousRetries, Instant now) {
+        long base = properties.getRetryBackoff().toMillis();
+        long max = properties.getMaxRetryBackoff().toMillis();
+        long delay = Math.min(max, base << Math.min(previousRetries, 30));
+        long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        return now.plusMillis(jittered);
+    }
+}
@@ -0,0 +1,92 @@
+package com.autorepair.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxWakeup {
+
+    private final OutboxProperties properties;
+
+    // a lock rather than a monitor: waiting inside synchronized pins a virtual thread's carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition signalled = lock.newCondition();
+    private volatile long generation;
+
+    /**
+     * Wakes every drain loop currently waiting for new outbox events.
+     */
+    public void signal() {
+        lock.lock();
+        try {
+            generation++;
+            signalled.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Waits until a signal newer than {@code seenGeneration} arrives or the timeout
+     * elapses. Signals raised while the caller was draining are not lost because
+     * the caller passes the generation it observed before it started draining.
+     *
+     * @return {@code true} when woken by a signal
+     */
+    public boolean await(long seenGeneration, Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (generation == seenGeneration && remaining > 0) {
+                remaining = signalled.awaitNanos(remaining);
+            }
+            return generation != seenGeneration;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public IdleBackoff newBackoff() {
+        Duration max = properties.getWakeup() == OutboxProperties.Wakeup.NOTIFY
+            ? properties.getMaxPollInterval()
+            : properties.getPollInterval();
+        return new IdleBackoff(properties.getPollInterval(), max);
+    }
+
+    /**
+     * Poll delay of one drain loop: doubles on every idle pass up to the maximum
+     * and starts over as soon as the loop finds work.
+     */
+    public static final class IdleBackoff {
+
+        private final Duration min;
+        private final Duration max;
+        private Duration current;
+
+        IdleBackoff(Duration min, Duration max) {
+            this.min = min;
+            this.max = max.compareTo(min) < 0 ? min : max;
+            this.current = min;
+        }
+
+        public Duration idle() {
+            Duration delay = current;
+            Duration doubled = current.multipliedBy(2);
+            current = doubled.compareTo(max) > 0 ? max : doubled;
+            return delay;
+        }
+
+        public void reset() {
+            current = min;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.autorepair.common.outbox;
+
+import java.util.UUID;
+
+/**
+ * How an outbox event is keyed on Kafka (DEC-042 {@code partitionKeyStrategy}).
+ * Every key starts with the tenant id, so ordering never crosses tenants and
+ * {@link HotTenantAwarePartitioner} can recognise the tenant of a record.
+ */
+public enum PartitionKeyStrategy {
+
+    /**
+     * {@code tenantId:aggregateId}; events of one aggregate stay in order.
+     */
+    AGGREGATE,
+
+    /**
+     * {@code tenantId}; all events of a tenant stay in order.
+     */
+    TENANT,
+
+    /**
+     * {@code tenantId:branchId}; events of one branch stay in order.
+     */
+    BRANCH;
+
+    /**
+     * Falls back to the tenant key when the aggregate or branch is unknown.
+     */
+    public String keyFor(UUID tenantId, UUID branchId, UUID aggregateId) {
+        UUID scope = switch (this) {
+            case AGGREGATE -> aggregateId;
+            case BRANCH -> branchId;
+            case TENANT -> null;
+        };
+        return scope != null ? tenantId + ":" + scope : String.valueOf(tenantId);
+    }
+}
@@ -0,0 +1,107 @@
+package com.autorepair.common.outbox;
+
+import org.postgresql.replication.LogSequenceNumber;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decodes the subset of the pgoutput protocol (version 1) the CDC relay needs:
+ * relation metadata, inserts with text-format tuples, and transaction bounds.
+ * Everything else is skipped.
+ */
+class PgOutputParser {
+
+    private final Map<Integer, Relation> relations = new HashMap<>();
+
+    sealed interface Message permits Begin, Commit, Insert, Other {
+    }
+
+    record Begin() implements Message {
+    }
+
+    record Commit(LogSequenceNumber endLsn) implements Message {
+    }
+
+    /**
+     * One inserted row: column name to its text representation, {@code null} for SQL NULL.
+     */
+    record Insert(String table, Map<String, String> columns) implements Message {
+    }
+
+    record Other() implements Message {
+    }
+
+    private record Relation(String table, String[] columns) {
+    }
+
+    Message parse(ByteBuffer buffer) {
+        char type = (char) buffer.get();
+        switch (type) {
+            case 'B':
+                return new Begin();
+            case 'C':
+                buffer.get();                   // flags
+                buffer.getLong();               // commit LSN
+                return new Commit(LogSequenceNumber.valueOf(buffer.getLong()));
+            case 'R':
+                readRelation(buffer);
+                return new Other();
+            case 'I':
+                return readInsert(buffer);
+            default:
+                return new Other();
+        }
+    }
+
+    private void readRelation(ByteBuffer buffer) {
+        int relationId = buffer.getInt();
+        String namespace = readString(buffer);
+        String name = readString(buffer);
+        buffer.get();                           // replica identity
+        String[] columns = new String[buffer.getShort()];
+        for (int i = 0; i < columns.length; i++) {
+            buffer.get();                       // flags
+            columns[i] = readString(buffer);
+            buffer.getInt();                    // type oid
+            buffer.getInt();                    // type modifier
+        }
+        relations.put(relationId, new Relation(namespace + "." + name, columns));
+    }
+
+    private Insert readInsert(ByteBuffer buffer) {
+        int relationId = buffer.getInt();
+        Relation relation = relations.get(relationId);
+        if (relation == null) {
+            throw new IllegalStateException("Insert for unknown relation " + relationId);
+        }
+        buffer.get();                           // 'N'
+        int count = buffer.getShort();
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            char kind = (char) buffer.get();
+            String value = null;
+            if (kind == 't') {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            columns.put(relation.columns()[i], value);
+        }
+        return new Insert(relation.table(), columns);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // advance to the terminator
+        }
+        int length = buffer.position() - start - 1;
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,96 @@
+package com.autorepair.common.outbox;
+
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotTenantAwarePartitionerTest {
+
+    private static final String TOPIC = "workorder.events.v1";
+
+    // murmur2 of this tenant is Integer.MAX_VALUE - 6, so band start + offset overflowed int
+    private static final String NEAR_MAX_TENANT = "tenant-286580896";
+    // murmur2 of this tenant is Integer.MIN_VALUE + 2, i.e. a band start of 2
+    private static final String NEAR_MIN_TENANT = "tenant-343134823";
+
+    private final HotTenantAwarePartitioner partitioner = new HotTenantAwarePartitioner();
+
+    @BeforeEach
+    void setUp() {
+        assertThat(murmur(NEAR_MAX_TENANT)).isEqualTo(Integer.MAX_VALUE - 6);
+        assertThat(murmur(NEAR_MIN_TENANT)).isEqualTo(Integer.MIN_VALUE + 2);
+        partitioner.configure(Map.of(HotTenantAwarePartitioner.HOT_TENANTS_CONFIG,
+            NEAR_MAX_TENANT + ":64, " + NEAR_MIN_TENANT + ":4"));
+    }
+
+    @Test
+    void bandNearIntMaxWiderThanTopicStaysInRange() {
+        Cluster cluster = cluster(12);
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = NEAR_MAX_TENANT + ":aggregate-" + i;
+            int partition = partition(key, cluster);
+            assertThat(partition).isBetween(0, 11);
+            assertThat(partition).isEqualTo(partition(key, cluster));
+            used.add(partition);
+        }
+        // a band wider than the topic covers every partition
+        assertThat(used).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+    }
+
+    @Test
+    void bandNearIntMinStartsAtItsReducedHash() {
+        Cluster cluster = cluster(12);
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            used.add(partition(NEAR_MIN_TENANT + ":aggregate-" + i, cluster));
+        }
+        assertThat(used).containsExactlyInAnyOrder(2, 3, 4, 5);
+    }
+
+    @Test
+    void otherTenantsHashLikeTheDefaultPartitioner() {
+        Cluster cluster = cluster(12);
+        for (int i = 0; i < 100; i++) {
+            String key = "tenant-" + i + ":aggregate-" + i;
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            assertThat(partition(key, cluster)).isEqualTo(Utils.toPositive(Utils.murmur2(bytes)) % 12);
+        }
+    }
+
+    @Test
+    void keylessRecordsStayInRange() {
+        Cluster cluster = cluster(3);
+        IntStream.range(0, 100).forEach(i ->
+            assertThat(partitioner.partition(TOPIC, null, null, "{}", null, cluster)).isBetween(0, 2));
+    }
+
+    private int partition(String key, Cluster cluster) {
+        return partitioner.partition(TOPIC, key, key.getBytes(StandardCharsets.UTF_8), "{}", null, cluster);
+    }
+
+    private static int murmur(String value) {
+        return Utils.murmur2(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cluster cluster(int partitions) {
+        List<PartitionInfo> infos = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            infos.add(new PartitionInfo(TOPIC, i, null, new Node[0], new Node[0]));
+        }
+        return new Cluster("test", List.of(), infos, Set.of(), Set.of());
+    }
+}
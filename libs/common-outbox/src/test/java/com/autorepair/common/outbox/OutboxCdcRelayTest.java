@@ -0,0 +1,225 @@
+package com.autorepair.common.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the relay against a real pgoutput slot. The broker and the JPA
+ * repository are replaced by an in-memory record of what was sent and which
+ * rows are PUBLISHED. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxCdcRelayTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+        .withCommand("postgres", "-c", "wal_level=logical");
+
+    private static final AtomicInteger SLOTS = new AtomicInteger();
+
+    private final List<UUID> sent = Collections.synchronizedList(new ArrayList<>());
+    private final Set<UUID> published = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, OutboxEvent> pending = new ConcurrentHashMap<>();
+
+    private PGSimpleDataSource dataSource;
+    private String slotName;
+    private OutboxCdcRelay relay;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(POSTGRES.getJdbcUrl());
+        dataSource.setUser(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        execute("CREATE TABLE IF NOT EXISTS outbox_events (id UUID PRIMARY KEY, tenant_id UUID NOT NULL, "
+            + "branch_id UUID, aggregate_id UUID, partition_key_strategy VARCHAR(20), partition_key VARCHAR(200), "
+            + "event_type VARCHAR(100) NOT NULL, event_version INTEGER NOT NULL, occurred_at TIMESTAMP NOT NULL, "
+            + "payload TEXT NOT NULL, topic VARCHAR(100) NOT NULL, status VARCHAR(20) NOT NULL, "
+            + "retry_count INTEGER NOT NULL DEFAULT 0, created_at TIMESTAMP NOT NULL, next_attempt_at TIMESTAMP NOT NULL)");
+        slotName = "outbox_relay_test_" + SLOTS.incrementAndGet();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (relay != null) {
+            relay.stop();
+        }
+        await().atMost(Duration.ofSeconds(10)).until(() -> !slotActive());
+        execute("SELECT pg_drop_replication_slot(slot_name) FROM pg_replication_slots WHERE slot_name = '" + slotName + "'");
+    }
+
+    @Test
+    void streamsCommittedInsertsAndMarksThemPublishedTogether() throws SQLException {
+        relay = startRelay();
+        await().atMost(Duration.ofSeconds(10)).until(this::slotActive);
+
+        List<UUID> ids = insert(3, Instant.now());
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> published.containsAll(ids));
+        assertThat(sent).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void sweepUnderSlotLagDoesNotPublishTwice() throws SQLException {
+        relay = startRelay();
+        await().atMost(Duration.ofSeconds(10)).until(this::slotActive);
+        relay.stop();
+        await().atMost(Duration.ofSeconds(10)).until(() -> !slotActive());
+
+        // queued in the slot and overdue for the sweep at the same time
+        List<UUID> ids = insert(5, Instant.now().minus(Duration.ofMinutes(1)));
+
+        relay = startRelay();
+        await().atMost(Duration.ofSeconds(10)).until(() -> published.containsAll(ids));
+        // give the stream time to deliver the same inserts
+        await().pollDelay(Duration.ofSeconds(2)).atMost(Duration.ofSeconds(3)).until(() -> true);
+
+        assertThat(sent).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    private OutboxCdcRelay startRelay() {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(POSTGRES.getJdbcUrl());
+        dataSourceProperties.setUsername(POSTGRES.getUsername());
+        dataSourceProperties.setPassword(POSTGRES.getPassword());
+
+        OutboxProperties properties = new OutboxProperties();
+        properties.setMode(OutboxProperties.Mode.CDC);
+        OutboxCdcProperties cdcProperties = new OutboxCdcProperties();
+        cdcProperties.setSlotName(slotName);
+        cdcProperties.setPublicationName("outbox_events_relay_test");
+        cdcProperties.setSweepInterval(Duration.ofMillis(200));
+        cdcProperties.setPublishedFlushInterval(Duration.ofMillis(50));
+        cdcProperties.setReconnectDelay(Duration.ofMillis(200));
+
+        OutboxCdcRelay started = new OutboxCdcRelay(dataSource, dataSourceProperties, properties, cdcProperties,
+            repository(), batchPublisher(), mock(OutboxDeadLetterService.class), new OutboxThreads(new MockEnvironment()));
+        started.start();
+        return started;
+    }
+
+    private OutboxRepository repository() {
+        OutboxRepository repository = mock(OutboxRepository.class);
+        when(repository.findDue(any(), anyInt()))
+            .thenAnswer(invocation -> pending.values().stream()
+                .filter(event -> !published.contains(event.getId()))
+                .filter(event -> !event.getCreatedAt().isAfter(invocation.getArgument(0)))
+                .toList());
+        doAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            published.addAll(ids);
+            return ids.size();
+        }).when(repository).markPublished(anyCollection(), any(), any());
+        return repository;
+    }
+
+    private OutboxBatchPublisher batchPublisher() {
+        OutboxBatchPublisher batchPublisher = mock(OutboxBatchPublisher.class);
+        when(batchPublisher.publish(anyList(), any())).thenAnswer(invocation -> {
+            List<OutboxEvent> batch = invocation.getArgument(0);
+            Consumer<List<UUID>> onPublished = invocation.getArgument(1);
+            onPublished.accept(send(batch));
+            return new OutboxBatchPublisher.BatchResult(batch.size(), batch.size(), 0);
+        });
+        when(batchPublisher.publish(anyList())).thenAnswer(invocation -> {
+            List<OutboxEvent> batch = invocation.getArgument(0);
+            published.addAll(send(batch));
+            return new OutboxBatchPublisher.BatchResult(batch.size(), batch.size(), 0);
+        });
+        return batchPublisher;
+    }
+
+    private List<UUID> send(List<OutboxEvent> batch) {
+        List<UUID> ids = batch.stream().map(OutboxEvent::getId).toList();
+        sent.addAll(ids);
+        return ids;
+    }
+
+    private List<UUID> insert(int count, Instant createdAt) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "INSERT INTO outbox_events (id, tenant_id, aggregate_id, partition_key_strategy, event_type, "
+                     + "event_version, occurred_at, payload, topic, status, created_at, next_attempt_at) "
+                     + "VALUES (?, ?, ?, 'AGGREGATE', 'WorkOrderCreated', 1, ?, '{}', 'workorder.events.v1', "
+                     + "'PENDING', ?, ?)")) {
+            connection.setAutoCommit(false);
+            Timestamp at = Timestamp.from(createdAt);
+            for (int i = 0; i < count; i++) {
+                UUID id = UUID.randomUUID();
+                statement.setObject(1, id);
+                statement.setObject(2, UUID.randomUUID());
+                statement.setObject(3, UUID.randomUUID());
+                statement.setTimestamp(4, at);
+                statement.setTimestamp(5, at);
+                statement.setTimestamp(6, at);
+                statement.addBatch();
+                ids.add(id);
+                pending.put(id, OutboxEvent.builder()
+                    .id(id)
+                    .eventType("WorkOrderCreated")
+                    .topic("workorder.events.v1")
+                    .status(OutboxEvent.OutboxStatus.PENDING)
+                    .retryCount(0)
+                    .createdAt(createdAt)
+                    .build());
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+        return ids;
+    }
+
+    private boolean slotActive() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT active FROM pg_replication_slots WHERE slot_name = ?")) {
+            statement.setString(1, slotName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
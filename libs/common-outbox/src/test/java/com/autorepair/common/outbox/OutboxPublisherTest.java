@@ -0,0 +1,86 @@
+package com.autorepair.common.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboxPublisherTest {
+
+    private final OutboxRepository repository = mock(OutboxRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final List<String> sent = new ArrayList<>();
+
+    private OutboxPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setMode(OutboxProperties.Mode.SINGLE);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        publisher = new OutboxPublisher(repository, kafkaTemplate, new ObjectMapper(), properties,
+            mock(OutboxBatchPublisher.class), mock(OutboxMetrics.class), transactionTemplate,
+            mock(OutboxWakeup.class), new OutboxRetryPolicy(properties), mock(OutboxDeadLetterService.class),
+            mock(OutboxThreads.class));
+    }
+
+    @Test
+    void failedEventHoldsBackTheRestOfItsKeyForThePass() {
+        OutboxEvent head = event("t:a", "head");
+        OutboxEvent follower = event("t:a", "follower");
+        OutboxEvent other = event("t:b", "other");
+        when(repository.findDue(any(), anyInt())).thenReturn(List.of(head, follower, other));
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<String, String> record = invocation.getArgument(0);
+            if (record.value().equals("head")) {
+                return CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"));
+            }
+            sent.add(record.value());
+            return CompletableFuture.completedFuture(null);
+        });
+
+        publisher.publishPendingEvents();
+
+        assertThat(sent).containsExactly("other");
+        assertThat(head.getStatus()).isEqualTo(OutboxEvent.OutboxStatus.PENDING);
+        assertThat(head.getRetryCount()).isEqualTo(1);
+        assertThat(head.getNextAttemptAt()).isAfter(head.getCreatedAt());
+        assertThat(follower.getStatus()).isEqualTo(OutboxEvent.OutboxStatus.PENDING);
+        assertThat(follower.getRetryCount()).isZero();
+    }
+
+    private static OutboxEvent event(String key, String payload) {
+        Instant now = Instant.now();
+        return OutboxEvent.builder()
+            .id(UUID.randomUUID())
+            .tenantId(UUID.randomUUID())
+            .partitionKey(key)
+            .eventType("WorkOrderCreated")
+            .eventVersion(1)
+            .payload(payload)
+            .topic("workorder.events.v1")
+            .status(OutboxEvent.OutboxStatus.PENDING)
+            .retryCount(0)
+            .createdAt(now)
+            .nextAttemptAt(now)
+            .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.autorepair.common.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ordering of the polling queries while an event waits out its retry backoff.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxRepositoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    static class Config {
+    }
+
+    @Autowired
+    private OutboxRepository repository;
+
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    private final UUID tenantId = UUID.randomUUID();
+
+    @Test
+    void eventInBackoffHoldsBackNewerEventsOfItsKey() {
+        OutboxEvent head = save("t:a", now.minusSeconds(30), 1, now.plus(Duration.ofMinutes(1)));
+        OutboxEvent follower = save("t:a", now.minusSeconds(20), 0, now.minusSeconds(20));
+        OutboxEvent other = save("t:b", now.minusSeconds(10), 0, now.minusSeconds(10));
+
+        assertThat(repository.findDue(now, 10)).extracting(OutboxEvent::getId).containsExactly(other.getId());
+        assertThat(repository.findClaimable(1, 0, now, 10)).extracting(OutboxEvent::getId)
+            .containsExactly(other.getId());
+
+        Instant later = now.plus(Duration.ofMinutes(2));
+        assertThat(repository.findDue(later, 10)).extracting(OutboxEvent::getId)
+            .containsExactly(head.getId(), follower.getId(), other.getId());
+        assertThat(repository.findClaimable(1, 0, later, 10)).extracting(OutboxEvent::getId)
+            .containsExactly(head.getId(), follower.getId(), other.getId());
+    }
+
+    @Test
+    void deadLetteredHeadNoLongerHoldsBackItsKey() {
+        OutboxEvent head = save("t:a", now.minusSeconds(30), 5, now.plus(Duration.ofMinutes(1)));
+        head.setStatus(OutboxEvent.OutboxStatus.FAILED);
+        repository.saveAndFlush(head);
+        OutboxEvent follower = save("t:a", now.minusSeconds(20), 0, now.minusSeconds(20));
+
+        assertThat(repository.findDue(now, 10)).extracting(OutboxEvent::getId).containsExactly(follower.getId());
+    }
+
+    private OutboxEvent save(String key, Instant createdAt, int retryCount, Instant nextAttemptAt) {
+        return repository.saveAndFlush(OutboxEvent.builder()
+            .tenantId(tenantId)
+            .partitionKey(key)
+            .eventType("WorkOrderCreated")
+            .eventVersion(1)
+            .payload("{}")
+            .topic("workorder.events.v1")
+            .status(OutboxEvent.OutboxStatus.PENDING)
+            .retryCount(retryCount)
+            .createdAt(createdAt)
+            .nextAttemptAt(nextAttemptAt)
+            .build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.autorepair.common.paging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset page: {@code nextCursor} is absent on the last page and
+ * {@code totalElements} unless the request asked for it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasNext, Long totalElements) {
+
+    /**
+     * Builds the page from rows fetched with {@link CursorRequest#limit()}.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, CursorRequest request, Function<E, PageCursor> cursorOf,
+                                          Function<E, T> mapper, Long totalElements) {
+        boolean hasNext = rows.size() > request.size();
+        List<E> page = hasNext ? rows.subList(0, request.size()) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor, hasNext, totalElements);
+    }
+}
@@ -0,0 +1,26 @@
+package com.autorepair.common.paging;
+
+import org.springframework.data.domain.Limit;
+
+/**
+ * One keyset page request: rows strictly after {@code after} (newest first),
+ * at most {@code size} of them, with the total count only when asked for.
+ */
+public record CursorRequest(PageCursor after, int size, boolean includeTotal) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public static CursorRequest of(String cursor, Integer size, Boolean includeTotal) {
+        int effectiveSize = size == null ? DEFAULT_SIZE : Math.max(1, Math.min(size, MAX_SIZE));
+        return new CursorRequest(PageCursor.decode(cursor), effectiveSize, Boolean.TRUE.equals(includeTotal));
+    }
+
+    /**
+     * One row more than the page, to know whether another page follows
+     * without counting.
+     */
+    public Limit limit() {
+        return Limit.of(size + 1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.autorepair.common.paging;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.error.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last row of a page, in {@code (created_at, id)} order.
+ * Clients get it as an opaque token and must not parse it.
+ */
+public record PageCursor(Instant createdAt, UUID id) {
+
+    private static final byte FORMAT = 1;
+    private static final int LENGTH = 1 + Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+    private static final int MAX_NANOS = 999_999_999;
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH)
+            .put(FORMAT)
+            .putLong(createdAt.getEpochSecond())
+            .putInt(createdAt.getNano())
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @return the cursor, or {@code null} for a blank token (first page)
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+            if (buffer.remaining() != LENGTH || buffer.get() != FORMAT) {
+                throw invalid();
+            }
+            long seconds = buffer.getLong();
+            int nanos = buffer.getInt();
+            // ofEpochSecond would carry out-of-range nanos into the seconds
+            if (nanos < 0 || nanos > MAX_NANOS) {
+                throw invalid();
+            }
+            Instant createdAt = Instant.ofEpochSecond(seconds, nanos);
+            return new PageCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw invalid();
+        }
+    }
+
+    private static BusinessException invalid() {
+        return new BusinessException(ErrorCode.ERR_VALIDATION_FAILED, "Invalid page cursor",
+            "error.validation.failed", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,107 @@
+package com.autorepair.common.paging;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.error.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsCreatedAtToTheNanosecondAndId() {
+        PageCursor cursor = new PageCursor(Instant.parse("2026-03-01T10:15:30.123456789Z"), UUID.randomUUID());
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsInstantsBeforeTheEpoch() {
+        PageCursor cursor = new PageCursor(Instant.parse("1969-12-31T23:59:59.5Z"), new UUID(-1, Long.MIN_VALUE));
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void tokenIsUrlSafeWithoutPadding() {
+        String token = new PageCursor(Instant.now(), UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"  "})
+    void blankTokenMeansFirstPage(String token) {
+        assertThat(PageCursor.decode(token)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor", "abc", "////", "AQ", "%%%"})
+    void rejectsMalformedTokens(String token) {
+        assertInvalid(token);
+    }
+
+    @Test
+    void rejectsTruncatedAndOverlongTokens() {
+        byte[] valid = Base64.getUrlDecoder().decode(new PageCursor(Instant.now(), UUID.randomUUID()).encode());
+
+        assertInvalid(encode(Arrays.copyOf(valid, valid.length - 1)));
+        assertInvalid(encode(Arrays.copyOf(valid, valid.length + 1)));
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        byte[] bytes = Base64.getUrlDecoder().decode(new PageCursor(Instant.now(), UUID.randomUUID()).encode());
+        bytes[0] = 2;
+
+        assertInvalid(encode(bytes));
+    }
+
+    @Test
+    void rejectsOutOfRangeNanos() {
+        ByteBuffer buffer = ByteBuffer.allocate(29)
+            .put((byte) 1)
+            .putLong(0)
+            .putInt(1_000_000_000)
+            .putLong(1)
+            .putLong(2);
+
+        assertInvalid(encode(buffer.array()));
+    }
+
+    @Test
+    void rejectsSecondsOutsideTheInstantRange() {
+        ByteBuffer buffer = ByteBuffer.allocate(29)
+            .put((byte) 1)
+            .putLong(Long.MAX_VALUE)
+            .putInt(0)
+            .putLong(1)
+            .putLong(2);
+
+        assertInvalid(encode(buffer.array()));
+    }
+
+    private static void assertInvalid(String token) {
+        assertThatThrownBy(() -> PageCursor.decode(token))
+            .isInstanceOfSatisfying(BusinessException.class, e -> {
+                assertThat(e.getErrorCode()).isEqualTo(ErrorCode.ERR_VALIDATION_FAILED);
+                assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+            });
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
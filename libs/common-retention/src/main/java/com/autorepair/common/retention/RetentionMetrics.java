@@ -0,0 +1,39 @@
+package com.autorepair.common.retention;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class RetentionMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicLong> lagSeconds = new ConcurrentHashMap<>();
+
+    public RetentionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void purged(String table, int rows) {
+        if (rows > 0) {
+            Counter.builder("retention.rows.purged")
+                .tag("table", table)
+                .register(registry)
+                .increment(rows);
+        }
+    }
+
+    /**
+     * Age of the oldest expired row still present, 0 when the table is caught up.
+     */
+    public void lag(String table, long seconds) {
+        lagSeconds.computeIfAbsent(table, t -> registry.gauge(
+            "retention.lag.seconds", Tags.of("table", t), new AtomicLong()
+        )).set(seconds);
+    }
+}
@@ -0,0 +1,48 @@
+package com.autorepair.common.retention;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "retention")
+@Data
+public class RetentionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Rows deleted per statement; each batch commits on its own so locks and WAL
+     * stay bounded.
+     */
+    private int batchSize = 5000;
+
+    /**
+     * Upper bound on deleted rows per second per table, to leave I/O headroom for
+     * regular traffic.
+     */
+    private int maxRowsPerSecond = 20000;
+
+    /**
+     * A sweep of one table stops after this long and continues on the next run.
+     */
+    private Duration maxRunTime = Duration.ofMinutes(1);
+
+    private List<Table> tables = new ArrayList<>();
+
+    @Data
+    public static class Table {
+
+        private String name;
+
+        /**
+         * Rows whose value in this column lies in the past are purged; it should be
+         * indexed.
+         */
+        private String expiryColumn = "expires_at";
+    }
+}
@@ -0,0 +1,139 @@
+package com.autorepair.common.retention;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.regex.Pattern;
+
+/**
+ * Deletes expired rows from the configured tables in bounded, separately
+ * committed batches. Each table is swept by one replica at a time, chosen with a
+ * Postgres session advisory lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RetentionSweeper {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final DataSource dataSource;
+    private final RetentionProperties properties;
+    private final RetentionMetrics metrics;
+
+    @Scheduled(fixedDelayString = "${retention.interval:PT5M}", initialDelayString = "${retention.initial-delay:PT2M}")
+    public void sweep() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (RetentionProperties.Table table : properties.getTables()) {
+            if (!IDENTIFIER.matcher(table.getName()).matches() || !IDENTIFIER.matcher(table.getExpiryColumn()).matches()) {
+                log.error("Skipping retention for invalid table config: {}", table);
+                continue;
+            }
+            try {
+                sweep(table);
+            } catch (SQLException e) {
+                log.error("Retention sweep failed: table={}", table.getName(), e);
+            }
+        }
+    }
+
+    private void sweep(RetentionProperties.Table table) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            if (!tryLock(connection, table.getName())) {
+                return;
+            }
+            try {
+                int purged = purge(connection, table);
+                if (purged > 0) {
+                    log.info("Purged expired rows: table={}, rows={}", table.getName(), purged);
+                }
+                metrics.lag(table.getName(), lagSeconds(connection, table));
+            } finally {
+                unlock(connection, table.getName());
+            }
+        }
+    }
+
+    private int purge(Connection connection, RetentionProperties.Table table) throws SQLException {
+        String sql = "DELETE FROM " + table.getName() + " WHERE ctid IN (SELECT ctid FROM " + table.getName()
+            + " WHERE " + table.getExpiryColumn() + " < ? LIMIT ?)";
+        long deadline = System.nanoTime() + properties.getMaxRunTime().toNanos();
+        // minimum wall time per batch that keeps the sweep under max-rows-per-second
+        long batchBudgetNanos = Duration.ofSeconds(1).toNanos() * properties.getBatchSize()
+            / Math.max(1, properties.getMaxRowsPerSecond());
+        int total = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            while (System.nanoTime() < deadline) {
+                long started = System.nanoTime();
+                statement.setObject(1, OffsetDateTime.now(ZoneOffset.UTC));
+                statement.setInt(2, properties.getBatchSize());
+                int deleted = statement.executeUpdate();
+                total += deleted;
+                metrics.purged(table.getName(), deleted);
+                if (deleted < properties.getBatchSize()) {
+                    break;
+                }
+                if (!pause(batchBudgetNanos - (System.nanoTime() - started))) {
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    private long lagSeconds(Connection connection, RetentionProperties.Table table) throws SQLException {
+        String sql = "SELECT COALESCE(EXTRACT(EPOCH FROM (CAST(? AS timestamptz) - MIN(" + table.getExpiryColumn()
+            + "))), 0) FROM " + table.getName() + " WHERE " + table.getExpiryColumn() + " < ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            statement.setObject(1, now);
+            statement.setObject(2, now);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private boolean pause(long nanos) {
+        if (nanos <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean tryLock(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+            statement.setString(1, "retention:" + table);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection, String table) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+            statement.setString(1, "retention:" + table);
+            statement.execute();
+        }
+    }
+}
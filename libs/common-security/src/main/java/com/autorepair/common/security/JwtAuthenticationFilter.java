@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -12,12 +13,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.UUID;
 
 @Component
+@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private final PrincipalCache principalCache;
+    private final MembershipCache membershipCache;
+    private final MembershipProperties membershipProperties;
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
@@ -33,34 +37,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authentication instanceof JwtAuthenticationToken jwtAuth) {
             Jwt jwt = jwtAuth.getToken();
             
-            String tenantId = jwt.getClaimAsString("tenant_id");
-            if (tenantId == null || tenantId.isBlank()) {
-                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                response.setContentType("application/json");
-                response.getWriter().write("{\"error\":\"Missing tenant_id claim in token\"}");
+            TenantContext context;
+            try {
+                context = principalCache.resolve(jwt);
+            } catch (IllegalArgumentException e) {
+                forbidden(response, e.getMessage());
                 return;
             }
 
-            TenantContext context = new TenantContext();
-            context.setUserId(jwt.getSubject());
-            context.setTenantId(UUID.fromString(tenantId));
-            
-            String branchId = jwt.getClaimAsString("branch_id");
-            if (branchId != null) {
-                context.setBranchId(UUID.fromString(branchId));
-            }
-
-            List<String> roles = jwt.getClaimAsStringList("roles");
-            if (roles != null) {
-                context.setRoles(roles.toArray(new String[0]));
-            }
+            TenantContext.set(context);
 
-            List<String> permissions = jwt.getClaimAsStringList("permissions");
-            if (permissions != null) {
-                context.setPermissions(permissions.toArray(new String[0]));
+            if (membershipProperties.isEnabled()) {
+                // DEC-015: fail closed when the membership cannot be verified
+                Membership membership = membershipCache.resolve(
+                    TenantContext.getTenantId(), TenantContext.getUserId(), jwt.getTokenValue());
+                if (membership == null || !membership.allows(TenantContext.getBranchId())) {
+                    TenantContext.clear();
+                    forbidden(response, membership == null
+                        ? "Membership could not be verified"
+                        : "No active membership for this tenant or branch");
+                    return;
+                }
             }
-            
-            TenantContext.set(context);
         }
         
         try {
@@ -69,4 +67,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             TenantContext.clear();
         }
     }
+
+    private static void forbidden(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
 }
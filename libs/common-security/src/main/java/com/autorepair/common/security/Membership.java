@@ -0,0 +1,24 @@
+package com.autorepair.common.security;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A user's membership in one tenant as tenantadmin-service reports it.
+ */
+public record Membership(boolean active, Set<String> roles, boolean tenantWide, Set<UUID> branchIds) {
+
+    public static final Membership NONE = new Membership(false, Set.of(), false, Set.of());
+
+    public Membership {
+        roles = roles != null ? Set.copyOf(roles) : Set.of();
+        branchIds = branchIds != null ? Set.copyOf(branchIds) : Set.of();
+    }
+
+    /**
+     * Whether a request scoped to the branch (or to no branch) is covered.
+     */
+    public boolean allows(UUID branchId) {
+        return active && (branchId == null || tenantWide || branchIds.contains(branchId));
+    }
+}
@@ -0,0 +1,154 @@
+package com.autorepair.common.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process membership per (tenant, user) in front of tenantadmin-service.
+ * A hit is one hash lookup; hits older than {@code refresh-after} reload in the
+ * background, concurrent misses share one remote call, and tenantadmin events
+ * evict a tenant's entries. Every entry remembers the tenant generation it was
+ * loaded under, so a load that was in flight during an eviction is discarded
+ * instead of installing the pre-eviction answer. A miss that cannot be loaded
+ * returns {@code null} and the caller denies (DEC-015).
+ */
+@Component
+@Slf4j
+public class MembershipCache {
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final MembershipClient client;
+    private final AsyncCache<Key, Entry> cache;
+    private final ExecutorService loader;
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final long refreshAfterNanos;
+    private final long loadTimeoutMillis;
+
+    public MembershipCache(MembershipClient client, MembershipProperties properties, MeterRegistry registry) {
+        this.client = client;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.loader = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "membership-loader-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getTtl())
+            .executor(loader)
+            .recordStats()
+            .buildAsync();
+        this.refreshAfterNanos = properties.getRefreshAfter().toNanos();
+        // both client timeouts plus scheduling slack; the client gives up first
+        this.loadTimeoutMillis = properties.getConnectTimeout().plus(properties.getReadTimeout()).toMillis() + 100;
+        CaffeineCacheMetrics.monitor(registry, cache, "security.membership");
+    }
+
+    public Membership resolve(UUID tenantId, String userId, String bearerToken) {
+        Key key = new Key(tenantId, userId);
+        CompletableFuture<Entry> cached = cache.getIfPresent(key);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            Entry entry = cached.join();
+            if (isCurrent(key, entry)) {
+                if (System.nanoTime() - entry.loadedAt() > refreshAfterNanos) {
+                    refresh(key, bearerToken);
+                }
+                return entry.membership();
+            }
+            cache.asMap().remove(key, cached);
+        }
+        try {
+            for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+                CompletableFuture<Entry> future =
+                    cache.get(key, (ignored, executor) -> CompletableFuture.supplyAsync(() -> load(key, bearerToken), executor));
+                Entry entry = future.get(loadTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (isCurrent(key, entry)) {
+                    return entry.membership();
+                }
+                // started before an eviction; drop it so the next attempt loads fresh
+                cache.asMap().remove(key, future);
+            }
+            log.warn("Membership kept changing while loading: tenantId={}, userId={}", tenantId, userId);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Membership could not be verified: tenantId={}, userId={}, cause={}",
+                tenantId, userId, e.getCause() != null ? e.getCause().getMessage() : "timeout");
+            return null;
+        }
+    }
+
+    private void refresh(Key key, String bearerToken) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        CompletableFuture.supplyAsync(() -> load(key, bearerToken), loader).whenComplete((entry, error) -> {
+            refreshing.remove(key);
+            if (error != null) {
+                // keep serving the current entry until it expires
+                log.debug("Membership refresh failed: tenantId={}, userId={}", key.tenantId(), key.userId(), error);
+            } else if (isCurrent(key, entry)) {
+                cache.put(key, CompletableFuture.completedFuture(entry));
+            }
+        });
+    }
+
+    private Entry load(Key key, String bearerToken) {
+        // captured before the call, so an eviction while it runs marks the answer stale
+        long loadEpoch = epoch.get();
+        long loadGeneration = generation(key.tenantId()).get();
+        return new Entry(client.fetch(bearerToken), System.nanoTime(), loadEpoch, loadGeneration);
+    }
+
+    private boolean isCurrent(Key key, Entry entry) {
+        return entry.epoch() == epoch.get() && entry.generation() == generation(key.tenantId()).get();
+    }
+
+    private AtomicLong generation(UUID tenantId) {
+        return generations.computeIfAbsent(tenantId, ignored -> new AtomicLong());
+    }
+
+    public void invalidateTenant(UUID tenantId) {
+        generation(tenantId).incrementAndGet();
+        cache.synchronous().asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId));
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        cache.synchronous().invalidateAll();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private record Key(UUID tenantId, String userId) {
+    }
+
+    private record Entry(Membership membership, long loadedAt, long epoch, long generation) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.autorepair.common.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads the caller's membership from tenantadmin-service with the DEC-015
+ * timeouts, authenticating with the caller's own token.
+ */
+@Component
+public class MembershipClient {
+
+    private final RestClient restClient;
+    private final String path;
+
+    public MembershipClient(MembershipProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getConnectTimeout());
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        this.restClient = RestClient.builder()
+            .baseUrl(properties.getBaseUrl())
+            .requestFactory(requestFactory)
+            .build();
+        this.path = properties.getPath();
+    }
+
+    /**
+     * @return the membership, {@link Membership#NONE} if the user is not a member
+     * @throws org.springframework.web.client.RestClientException if tenantadmin-service did not answer
+     */
+    public Membership fetch(String bearerToken) {
+        try {
+            MembershipResponse response = restClient.get()
+                .uri(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerToken)
+                .retrieve()
+                .body(MembershipResponse.class);
+            if (response == null) {
+                return Membership.NONE;
+            }
+            return new Membership(response.active(), response.roles(), response.tenantWide(), response.branchIds());
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND || e.getStatusCode() == HttpStatus.FORBIDDEN) {
+                return Membership.NONE;
+            }
+            throw e;
+        }
+    }
+
+    private record MembershipResponse(boolean active, Set<String> roles, boolean tenantWide, Set<UUID> branchIds) {
+    }
+}
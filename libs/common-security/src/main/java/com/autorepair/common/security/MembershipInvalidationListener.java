@@ -0,0 +1,62 @@
+package com.autorepair.common.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Evicts cached memberships when tenantadmin-service reports a change. Each
+ * replica consumes with its own group so every replica sees every event.
+ */
+@Component
+@ConditionalOnProperty(prefix = "security.membership", name = "enabled", havingValue = "true")
+@ConditionalOnClass(name = "org.springframework.kafka.annotation.KafkaListener")
+@RequiredArgsConstructor
+@Slf4j
+public class MembershipInvalidationListener {
+
+    private static final Set<String> EVENT_TYPES = Set.of("TenantUpdated", "RoleUpdated", "BranchUpdated", "MembershipUpdated");
+
+    private final MembershipCache cache;
+
+    @KafkaListener(
+        topics = "${security.membership.events-topic:tenantadmin.events.v1}",
+        groupId = "${spring.application.name}-membership-${random.uuid}",
+        properties = {
+            "auto.offset.reset=latest",
+            "key.deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+            "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"
+        }
+    )
+    public void onEvent(ConsumerRecord<String, String> record) {
+        String eventType = header(record, "x-event-type");
+        if (eventType == null || !EVENT_TYPES.contains(eventType)) {
+            return;
+        }
+        String tenantId = header(record, "x-tenant-id");
+        try {
+            if (tenantId != null) {
+                cache.invalidateTenant(UUID.fromString(tenantId));
+            } else {
+                cache.invalidateAll();
+            }
+        } catch (IllegalArgumentException e) {
+            cache.invalidateAll();
+        }
+        log.debug("Evicted memberships: eventType={}, tenantId={}", eventType, tenantId);
+    }
+
+    private static String header(ConsumerRecord<String, String> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.autorepair.common.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Membership validation against tenantadmin-service (DEC-015).
+ */
+@Component
+@ConfigurationProperties(prefix = "security.membership")
+@Data
+public class MembershipProperties {
+
+    /**
+     * Requires every authenticated request to belong to an active membership of
+     * its tenant (and branch, when the token carries one). Requests whose
+     * membership cannot be verified are denied.
+     */
+    private boolean enabled = false;
+
+    private String baseUrl = "http://localhost:8081";
+
+    private String path = "/v1/memberships/me";
+
+    private Duration connectTimeout = Duration.ofMillis(200);
+
+    private Duration readTimeout = Duration.ofMillis(500);
+
+    /**
+     * How long a verified membership may be used; after that a request misses
+     * and fails closed if tenantadmin-service cannot answer.
+     */
+    private Duration ttl = Duration.ofMinutes(2);
+
+    /**
+     * Age after which a hit triggers a background reload, so busy users never
+     * reach the TTL and never wait on tenantadmin-service.
+     */
+    private Duration refreshAfter = Duration.ofSeconds(90);
+
+    private long maxSize = 50_000;
+
+    /**
+     * Topic carrying TenantUpdated, RoleUpdated, BranchUpdated and
+     * MembershipUpdated; each evicts the tenant's entries on every replica.
+     */
+    private String eventsTopic = "tenantadmin.events.v1";
+}
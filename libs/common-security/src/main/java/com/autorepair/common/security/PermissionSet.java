@@ -0,0 +1,141 @@
+package com.autorepair.common.security;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable set of permissions stored as a bitset. Permission names are interned
+ * process-wide to a bit index the first time a token carries them, so a check is
+ * a map lookup plus a bit test and {@link #containsAll} is a word-wise AND.
+ */
+public final class PermissionSet {
+
+    private static final Map<String, Integer> BITS = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> NAMES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_BIT = new AtomicInteger();
+
+    public static final PermissionSet EMPTY = new PermissionSet(new long[0]);
+
+    private final long[] words;
+
+    private PermissionSet(long[] words) {
+        this.words = words;
+    }
+
+    public static PermissionSet of(String... permissions) {
+        return of(Arrays.asList(permissions));
+    }
+
+    public static PermissionSet of(Collection<String> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = new long[0];
+        for (String permission : permissions) {
+            if (permission == null) {
+                continue;
+            }
+            int bit = bitOf(permission);
+            if (bit >> 6 >= words.length) {
+                words = Arrays.copyOf(words, (bit >> 6) + 1);
+            }
+            words[bit >> 6] |= 1L << bit;
+        }
+        return new PermissionSet(words);
+    }
+
+    /**
+     * Bit index of a permission, assigned on first sight and stable for the life
+     * of the process. Callers checking a fixed permission can resolve it once.
+     */
+    public static int bitOf(String permission) {
+        return BITS.computeIfAbsent(permission, name -> {
+            int bit = NEXT_BIT.getAndIncrement();
+            NAMES.put(bit, name);
+            return bit;
+        });
+    }
+
+    public boolean contains(String permission) {
+        // a name no token has carried yet has no bit, so nobody holds it
+        Integer bit = BITS.get(permission);
+        return bit != null && contains(bit);
+    }
+
+    public boolean contains(int bit) {
+        int word = bit >> 6;
+        return word < words.length && (words[word] & (1L << bit)) != 0;
+    }
+
+    public boolean containsAll(PermissionSet required) {
+        for (int i = 0; i < required.words.length; i++) {
+            long held = i < words.length ? words[i] : 0;
+            if ((required.words[i] & ~held) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean containsAny(PermissionSet candidates) {
+        int length = Math.min(words.length, candidates.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & candidates.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Set<String> names() {
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                int bit = (i << 6) + Long.numberOfTrailingZeros(word);
+                names.add(NAMES.get(bit));
+                word &= word - 1;
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PermissionSet that)) {
+            return false;
+        }
+        return containsAll(that) && that.containsAll(this);
+    }
+
+    @Override
+    public int hashCode() {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, length));
+    }
+
+    @Override
+    public String toString() {
+        return names().toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.autorepair.common.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Parsed principals keyed by token, so a client reusing its access token skips
+ * claim parsing on every request after the first. Tokens are immutable and the
+ * decoder has already verified them, so an entry stays valid until the token's
+ * {@code exp}, which is also when it is evicted.
+ */
+@Component
+public class PrincipalCache {
+
+    private final PrincipalCacheProperties properties;
+    private final Cache<String, TenantContext> cache;
+
+    public PrincipalCache(PrincipalCacheProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfter(new UntilTokenExpires(properties.getDefaultTtl()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "security.principal");
+    }
+
+    /**
+     * Returns the principal of a verified token.
+     *
+     * @throws IllegalArgumentException if the token lacks a usable {@code tenant_id}
+     */
+    public TenantContext resolve(Jwt jwt) {
+        if (!properties.isEnabled()) {
+            return parse(jwt);
+        }
+        return cache.get(key(jwt), ignored -> parse(jwt));
+    }
+
+    static TenantContext parse(Jwt jwt) {
+        String tenantId = jwt.getClaimAsString("tenant_id");
+        if (tenantId == null || tenantId.isBlank()) {
+            throw new IllegalArgumentException("Missing tenant_id claim in token");
+        }
+        String branchId = jwt.getClaimAsString("branch_id");
+        List<String> permissions = jwt.getClaimAsStringList("permissions");
+        try {
+            return TenantContext.builder()
+                .tenantId(UUID.fromString(tenantId))
+                .branchId(branchId != null ? UUID.fromString(branchId) : null)
+                .userId(jwt.getSubject())
+                .roles(jwt.getClaimAsStringList("roles"))
+                .permissions(PermissionSet.of(permissions))
+                .expiresAt(jwt.getExpiresAt())
+                .build();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid tenant_id or branch_id claim in token", e);
+        }
+    }
+
+    private static String key(Jwt jwt) {
+        // jti is unique per token at the issuer; the signature was checked before we get here
+        String jti = jwt.getId();
+        return jti != null ? "jti:" + jti : "sha:" + sha256(jwt.getTokenValue());
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record UntilTokenExpires(Duration defaultTtl) implements Expiry<String, TenantContext> {
+
+        @Override
+        public long expireAfterCreate(String key, TenantContext context, long currentTime) {
+            if (context.getExpiresAt() == null) {
+                return defaultTtl.toNanos();
+            }
+            return Math.max(0, Duration.between(Instant.now(), context.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TenantContext context, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, context, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, TenantContext context, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
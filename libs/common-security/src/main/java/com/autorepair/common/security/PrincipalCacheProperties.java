@@ -0,0 +1,26 @@
+package com.autorepair.common.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "security.principal-cache")
+@Data
+public class PrincipalCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on parsed principals held; roughly one per active token.
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * Lifetime of an entry whose token has no {@code exp} claim. Entries of
+     * tokens with {@code exp} live until then and no longer.
+     */
+    private Duration defaultTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,43 @@
+package com.autorepair.common.security;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Carries the {@link TenantContext} through Reactor pipelines, whose operators
+ * hop threads and never see the request thread's binding. Capture it where the
+ * pipeline is assembled and read it back where work needs it:
+ * <pre>
+ * Mono.zip(customers.get(id), vehicles.byCustomer(id))
+ *     .contextWrite(ReactorTenantContext.capture())
+ *
+ * // inside a pipeline, for blocking code that reads TenantContext statics
+ * ReactorTenantContext.fromCallable(() -&gt; repository.findById(id)).subscribeOn(Schedulers.boundedElastic())
+ * </pre>
+ * Only usable in services with reactor-core on the classpath.
+ */
+public final class ReactorTenantContext {
+
+    public static final Class<TenantContext> KEY = TenantContext.class;
+
+    private ReactorTenantContext() {
+    }
+
+    public static Function<Context, Context> capture() {
+        TenantContext captured = TenantContext.get();
+        return context -> captured != null ? context.put(KEY, captured) : context;
+    }
+
+    public static Mono<TenantContext> current() {
+        return Mono.deferContextual(view -> Mono.justOrEmpty(view.getOrEmpty(KEY)));
+    }
+
+    public static <T> Mono<T> fromCallable(Callable<T> task) {
+        return Mono.deferContextual(view -> Mono.fromCallable(
+            () -> TenantContext.callWith(view.getOrDefault(KEY, null), task)
+        ));
+    }
+}
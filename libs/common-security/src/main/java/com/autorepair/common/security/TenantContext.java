@@ -1,19 +1,60 @@
 package com.autorepair.common.security;
 
-import lombok.Data;
+import lombok.Builder;
+import lombok.Getter;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
-@Data
-public class TenantContext {
-    private UUID tenantId;
-    private UUID branchId;
-    private String userId;
-    private String[] roles;
-    private String[] permissions;
+/**
+ * Caller identity parsed from the access token. Instances are immutable so one
+ * parsed principal can be shared by every request carrying the same token, and
+ * handed to other threads: {@link #wrap} captures the current context for a
+ * task, {@link TenantContextExecutors} and {@link TenantContextTaskDecorator} do
+ * so for every task of an executor.
+ */
+@Getter
+public final class TenantContext {
+    private final UUID tenantId;
+    private final UUID branchId;
+    private final String userId;
+    private final Set<String> roles;
+    private final PermissionSet permissions;
+    private final Instant expiresAt;
 
     private static final ThreadLocal<TenantContext> CONTEXT = new ThreadLocal<>();
 
+    @Builder
+    private TenantContext(UUID tenantId, UUID branchId, String userId, Collection<String> roles,
+                          PermissionSet permissions, Instant expiresAt) {
+        this.tenantId = tenantId;
+        this.branchId = branchId;
+        this.userId = userId;
+        this.roles = roles != null ? Set.copyOf(roles) : Set.of();
+        this.permissions = permissions != null ? permissions : PermissionSet.EMPTY;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    public boolean hasAnyRole(Collection<String> candidates) {
+        for (String candidate : candidates) {
+            if (roles.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasPermission(String permission) {
+        return permissions.contains(permission);
+    }
+
     public static void set(TenantContext context) {
         CONTEXT.set(context);
     }
@@ -26,6 +67,51 @@ public class TenantContext {
         CONTEXT.remove();
     }
 
+    /**
+     * Runs the task with the given context bound, restoring whatever was bound
+     * before, so nested and pooled use never leaks a tenant into later work.
+     */
+    public static void runWith(TenantContext context, Runnable task) {
+        TenantContext previous = CONTEXT.get();
+        bind(context);
+        try {
+            task.run();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    public static <T> T callWith(TenantContext context, Callable<T> task) throws Exception {
+        TenantContext previous = CONTEXT.get();
+        bind(context);
+        try {
+            return task.call();
+        } finally {
+            bind(previous);
+        }
+    }
+
+    /**
+     * Captures the calling thread's context for a task that runs elsewhere.
+     */
+    public static Runnable wrap(Runnable task) {
+        TenantContext captured = CONTEXT.get();
+        return () -> runWith(captured, task);
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        TenantContext captured = CONTEXT.get();
+        return () -> callWith(captured, task);
+    }
+
+    private static void bind(TenantContext context) {
+        if (context != null) {
+            CONTEXT.set(context);
+        } else {
+            CONTEXT.remove();
+        }
+    }
+
     public static UUID getTenantId() {
         TenantContext context = get();
         return context != null ? context.tenantId : null;
@@ -0,0 +1,72 @@
+package com.autorepair.common.security;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor decorators that run every task under the {@link TenantContext} of the
+ * thread that submitted it.
+ * <pre>
+ * Executor fanOut = TenantContextExecutors.wrap(pool);
+ * CompletableFuture&lt;Customer&gt; customer = CompletableFuture.supplyAsync(() -&gt; customers.find(id), fanOut);
+ * </pre>
+ */
+public final class TenantContextExecutors {
+
+    private TenantContextExecutors() {
+    }
+
+    public static Executor wrap(Executor executor) {
+        if (executor instanceof ExecutorService service) {
+            return wrap(service);
+        }
+        return task -> executor.execute(TenantContext.wrap(task));
+    }
+
+    public static ExecutorService wrap(ExecutorService executor) {
+        return executor instanceof PropagatingExecutorService ? executor : new PropagatingExecutorService(executor);
+    }
+
+    // submit/invokeAll of AbstractExecutorService all end in execute, which captures the context
+    private static final class PropagatingExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        private PropagatingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(TenantContext.wrap(task));
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.autorepair.common.security;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Boot applies a single {@link TaskDecorator} bean to its auto-configured
+ * task executor, so {@code @Async} methods run under the caller's tenant.
+ * Executors built by hand can call {@code setTaskDecorator} with this bean or
+ * use {@link TenantContextExecutors}.
+ */
+@Component
+public class TenantContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return TenantContext.wrap(runnable);
+    }
+}
@@ -0,0 +1,30 @@
+package com.autorepair.common.security.policy;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "security.policy")
+@Data
+public class PolicyProperties {
+
+    /**
+     * Subscribes this service to compiled policy snapshots.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Compacted topic keyed by tenant; a replica reads it from the start on
+     * boot and only then lets startup continue, so it holds the latest snapshot
+     * of every tenant before serving.
+     */
+    private String snapshotTopic = "tenantadmin.policy-snapshots.v1";
+
+    /**
+     * How long startup waits to reach the end of the snapshot topic before it fails.
+     */
+    private Duration bootstrapTimeout = Duration.ofSeconds(60);
+}
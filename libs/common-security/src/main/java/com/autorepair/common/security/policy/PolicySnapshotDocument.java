@@ -0,0 +1,23 @@
+package com.autorepair.common.security.policy;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Wire form of a tenant's compiled policy set, published by tenantadmin-service.
+ * Every scope already holds its fully resolved values, so consumers never apply
+ * precedence themselves.
+ */
+public record PolicySnapshotDocument(UUID tenantId, long version, Instant compiledAt, List<Scope> scopes) {
+
+    public static final String EVENT_TYPE = "PolicySnapshotPublished";
+
+    /**
+     * Resolved values for requests in {@code branchId} (null: no branch) acting
+     * as {@code role} (null: no role-specific policy).
+     */
+    public record Scope(UUID branchId, String role, Map<String, String> values) {
+    }
+}
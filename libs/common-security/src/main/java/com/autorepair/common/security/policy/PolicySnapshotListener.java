@@ -0,0 +1,158 @@
+package com.autorepair.common.security.policy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiles published policy snapshots and installs them. Every replica reads
+ * the whole compacted topic through a manual assignment without a consumer
+ * group, so restarts leave no groups behind. {@link #start()} returns only once
+ * the consumer has reached the end offsets it saw on boot; it runs before the
+ * web server, so a replica reports ready with every tenant's snapshot loaded.
+ */
+@Component
+@ConditionalOnProperty(prefix = "security.policy", name = "enabled", havingValue = "true")
+@ConditionalOnClass(name = "org.apache.kafka.clients.consumer.KafkaConsumer")
+@RequiredArgsConstructor
+@Slf4j
+public class PolicySnapshotListener implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final PolicySnapshots snapshots;
+    private final ObjectMapper objectMapper;
+    private final PolicyProperties properties;
+    private final KafkaProperties kafkaProperties;
+
+    private final CountDownLatch caughtUp = new CountDownLatch(1);
+    private volatile boolean running;
+    private volatile KafkaConsumer<String, String> consumer;
+    private volatile Exception failure;
+    private Thread thread;
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::consume, "policy-snapshots");
+        thread.setDaemon(true);
+        thread.start();
+        try {
+            if (!caughtUp.await(properties.getBootstrapTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Policy snapshots not loaded within " + properties.getBootstrapTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading policy snapshots", e);
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Could not load policy snapshots", failure);
+        }
+    }
+
+    private void consume() {
+        try (KafkaConsumer<String, String> kafka = new KafkaConsumer<>(consumerProperties(),
+                new StringDeserializer(), new StringDeserializer())) {
+            consumer = kafka;
+            List<TopicPartition> partitions = partitions(kafka);
+            if (partitions.isEmpty()) {
+                // nothing published yet: nothing to wait for either
+                log.warn("Policy snapshot topic {} not found, waiting for it", properties.getSnapshotTopic());
+                caughtUp.countDown();
+            }
+            while (running && partitions.isEmpty()) {
+                Thread.sleep(properties.getBootstrapTimeout().toMillis() / 10);
+                partitions = partitions(kafka);
+            }
+            kafka.assign(partitions);
+            kafka.seekToBeginning(partitions);
+            Map<TopicPartition, Long> endOffsets = kafka.endOffsets(partitions);
+
+            while (running) {
+                for (ConsumerRecord<String, String> record : kafka.poll(POLL_TIMEOUT)) {
+                    onSnapshot(record);
+                }
+                if (caughtUp.getCount() > 0
+                        && endOffsets.entrySet().stream().allMatch(end -> kafka.position(end.getKey()) >= end.getValue())) {
+                    log.info("Policy snapshots loaded: topic={}, partitions={}", properties.getSnapshotTopic(), partitions.size());
+                    caughtUp.countDown();
+                }
+            }
+        } catch (WakeupException | InterruptedException e) {
+            // stop()
+        } catch (Exception e) {
+            log.error("Policy snapshot consumer stopped: topic={}", properties.getSnapshotTopic(), e);
+            failure = e;
+        } finally {
+            consumer = null;
+            caughtUp.countDown();
+        }
+    }
+
+    private List<TopicPartition> partitions(KafkaConsumer<String, String> kafka) {
+        return kafka.partitionsFor(properties.getSnapshotTopic()).stream()
+            .map(info -> new TopicPartition(info.topic(), info.partition()))
+            .toList();
+    }
+
+    private Map<String, Object> consumerProperties() {
+        Map<String, Object> config = kafkaProperties.buildConsumerProperties(null);
+        config.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return config;
+    }
+
+    void onSnapshot(ConsumerRecord<String, String> record) {
+        Header eventType = record.headers().lastHeader("x-event-type");
+        if (record.value() == null || eventType == null
+                || !PolicySnapshotDocument.EVENT_TYPE.equals(new String(eventType.value(), StandardCharsets.UTF_8))) {
+            return;
+        }
+        try {
+            PolicySnapshotDocument document = objectMapper.readValue(record.value(), PolicySnapshotDocument.class);
+            snapshots.install(PolicySnapshot.compile(document));
+        } catch (Exception e) {
+            // the previous snapshot stays installed
+            log.error("Unreadable policy snapshot: key={}, offset={}", record.key(), record.offset(), e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        KafkaConsumer<String, String> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // starts, and blocks, before the web server and the readiness state come up
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
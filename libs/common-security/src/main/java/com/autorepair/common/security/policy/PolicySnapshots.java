@@ -0,0 +1,45 @@
+package com.autorepair.common.security.policy;
+
+import com.autorepair.common.security.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current policy snapshot per tenant. A newer version replaces the old snapshot
+ * in one reference swap, so a lookup sees either the old or the new set, never
+ * a mix; older or repeated versions are ignored.
+ */
+@Component
+@Slf4j
+public class PolicySnapshots {
+
+    private final Map<UUID, PolicySnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public PolicySnapshot get(UUID tenantId) {
+        return snapshots.get(tenantId);
+    }
+
+    /**
+     * Resolves a policy for the current request's tenant and branch.
+     *
+     * @return the effective value, or {@code null} when only DEFAULTS apply or no
+     *         snapshot has arrived yet; callers apply the category's fail-safe (DEC-008)
+     */
+    public String resolve(String key, String role) {
+        UUID tenantId = TenantContext.getTenantId();
+        PolicySnapshot snapshot = tenantId != null ? snapshots.get(tenantId) : null;
+        return snapshot != null ? snapshot.resolve(key, TenantContext.getBranchId(), role) : null;
+    }
+
+    public void install(PolicySnapshot snapshot) {
+        PolicySnapshot installed = snapshots.merge(snapshot.getTenantId(), snapshot,
+            (current, candidate) -> candidate.getVersion() > current.getVersion() ? candidate : current);
+        if (installed == snapshot) {
+            log.info("Installed policy snapshot: tenantId={}, version={}", snapshot.getTenantId(), snapshot.getVersion());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.autorepair.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bits are interned process-wide, so every test uses names of its own.
+ */
+class PermissionSetTest {
+
+    @Test
+    void internsEachNameToOneStableBit() {
+        String read = unique("workorder:read");
+        String write = unique("workorder:write");
+
+        int bit = PermissionSet.bitOf(read);
+        assertThat(PermissionSet.bitOf(read)).isEqualTo(bit);
+        assertThat(PermissionSet.bitOf(write)).isNotEqualTo(bit);
+        assertThat(PermissionSet.of(read).contains(bit)).isTrue();
+    }
+
+    @Test
+    void containsOnlyWhatWasGranted() {
+        String read = unique("customer:read");
+        String write = unique("customer:write");
+        PermissionSet set = PermissionSet.of(read);
+
+        assertThat(set.contains(read)).isTrue();
+        PermissionSet.bitOf(write);
+        assertThat(set.contains(write)).isFalse();
+        assertThat(set.contains(unique("never-granted"))).isFalse();
+        assertThat(set.names()).containsExactly(read);
+    }
+
+    @Test
+    void spansSeveralWords() {
+        List<String> names = names("bulk", 150);
+        PermissionSet all = PermissionSet.of(names);
+        PermissionSet firstAndLast = PermissionSet.of(names.get(0), names.get(149));
+
+        assertThat(all.names()).containsExactlyInAnyOrderElementsOf(names);
+        assertThat(all.containsAll(firstAndLast)).isTrue();
+        assertThat(firstAndLast.containsAll(all)).isFalse();
+        assertThat(firstAndLast.containsAny(PermissionSet.of(names.get(149)))).isTrue();
+        assertThat(firstAndLast.containsAny(PermissionSet.of(names.get(75)))).isFalse();
+    }
+
+    @Test
+    void shortSetContainsAllOfALongerOneOnlyWhenTheExtraWordsAreEmpty() {
+        List<String> names = names("words", 130);
+        PermissionSet low = PermissionSet.of(names.get(0));
+        PermissionSet high = PermissionSet.of(names.get(129));
+
+        assertThat(low.containsAll(PermissionSet.EMPTY)).isTrue();
+        assertThat(low.containsAll(high)).isFalse();
+        assertThat(low.containsAny(high)).isFalse();
+    }
+
+    @Test
+    void equalityIgnoresOrderAndDuplicates() {
+        String a = unique("a");
+        String b = unique("b");
+
+        assertThat(PermissionSet.of(a, b, a)).isEqualTo(PermissionSet.of(b, a));
+        assertThat(PermissionSet.of(a, b)).hasSameHashCodeAs(PermissionSet.of(b, a));
+        assertThat(PermissionSet.of(a)).isNotEqualTo(PermissionSet.of(b));
+    }
+
+    @Test
+    void emptyAndNullInputs() {
+        assertThat(PermissionSet.of()).isSameAs(PermissionSet.EMPTY);
+        assertThat(PermissionSet.of((List<String>) null)).isSameAs(PermissionSet.EMPTY);
+        assertThat(PermissionSet.of(Arrays.asList(null, null)).isEmpty()).isTrue();
+        assertThat(PermissionSet.EMPTY.names()).isEmpty();
+        assertThat(PermissionSet.of(Arrays.asList(null, null))).isEqualTo(PermissionSet.EMPTY);
+    }
+
+    private static List<String> names(String prefix, int count) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add(unique(prefix + i));
+        }
+        // intern in order so the bits run across consecutive words
+        names.forEach(PermissionSet::bitOf);
+        return names;
+    }
+
+    private static String unique(String name) {
+        return name + ":" + UUID.randomUUID();
+    }
+}
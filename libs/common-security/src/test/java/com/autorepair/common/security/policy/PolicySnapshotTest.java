@@ -0,0 +1,52 @@
+package com.autorepair.common.security.policy;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolicySnapshotTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+    private static final UUID BRANCH = UUID.randomUUID();
+    private static final UUID OTHER_BRANCH = UUID.randomUUID();
+
+    // already resolved per scope, as tenantadmin-service publishes them
+    private final PolicySnapshot snapshot = PolicySnapshot.compile(new PolicySnapshotDocument(TENANT, 7, Instant.now(), List.of(
+        new PolicySnapshotDocument.Scope(null, null, Map.of("discount.max", "10")),
+        new PolicySnapshotDocument.Scope(null, "MANAGER", Map.of("discount.max", "20", "approval.limit", "500")),
+        new PolicySnapshotDocument.Scope(BRANCH, null, Map.of("discount.max", "15")),
+        new PolicySnapshotDocument.Scope(BRANCH, "MANAGER", Map.of("discount.max", "25", "approval.limit", "500"))
+    )));
+
+    @Test
+    void resolvesTheMostSpecificScope() {
+        assertThat(snapshot.resolve("discount.max", null, null)).isEqualTo("10");
+        assertThat(snapshot.resolve("discount.max", null, "MANAGER")).isEqualTo("20");
+        assertThat(snapshot.resolve("discount.max", BRANCH, null)).isEqualTo("15");
+        assertThat(snapshot.resolve("discount.max", BRANCH, "MANAGER")).isEqualTo("25");
+    }
+
+    @Test
+    void unknownRoleOrBranchFallsBackToTheEnclosingScope() {
+        assertThat(snapshot.resolve("discount.max", BRANCH, "TECHNICIAN")).isEqualTo("15");
+        assertThat(snapshot.resolve("discount.max", OTHER_BRANCH, "MANAGER")).isEqualTo("20");
+        assertThat(snapshot.resolve("discount.max", OTHER_BRANCH, null)).isEqualTo("10");
+    }
+
+    @Test
+    void missingValueMeansDefaults() {
+        assertThat(snapshot.resolve("approval.limit", BRANCH, null)).isNull();
+        assertThat(snapshot.resolve("no.such.key", BRANCH, "MANAGER")).isNull();
+    }
+
+    @Test
+    void keepsTenantAndVersion() {
+        assertThat(snapshot.getTenantId()).isEqualTo(TENANT);
+        assertThat(snapshot.getVersion()).isEqualTo(7);
+    }
+}
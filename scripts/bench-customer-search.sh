@@ -0,0 +1,71 @@
+#!/bin/bash
+# Customer search plans and timings over one 1M-customer tenant (plus 200k rows of
+# other tenants). Runs against a migrated customer_db inside a transaction that is
+# rolled back, so nothing is left behind.
+#   ./scripts/bench-customer-search.sh [rows]
+set -e
+
+ROWS=${1:-1000000}
+export PGHOST=${DB_HOST:-localhost} PGPORT=${DB_PORT:-5433} PGUSER=${DB_USERNAME:-postgres}
+export PGPASSWORD=${DB_PASSWORD:-postgres} PGDATABASE=${DB_NAME:-customer_db}
+TENANT=00000000-0000-0000-0000-0000000be7c4
+
+psql -v ON_ERROR_STOP=1 -q <<SQL
+BEGIN;
+
+INSERT INTO customers (id, tenant_id, type, full_name, phone_e164, email_normalized, status, created_at, updated_at)
+SELECT gen_random_uuid(),
+       CASE WHEN i <= $ROWS THEN '$TENANT'::uuid ELSE gen_random_uuid() END,
+       'GUEST',
+       (ARRAY['Ahmet','Ayse','Mehmet','Fatma','John','Jane','Maria','Mustafa','Elif','Can'])[1 + i % 10] || ' ' ||
+       (ARRAY['Yilmaz','Kaya','Demir','Sahin','Celik','Smith','Doe','Ozturk','Aydin','Arslan'])[1 + (i / 10) % 10] ||
+       '-' || i,
+       '+90' || (5000000000 + i)::text,
+       'user' || i || '@example.com',
+       'ACTIVE', now() - (i || ' seconds')::interval, now()
+FROM generate_series(1, $ROWS + 200000) AS i;
+ANALYZE customers;
+
+\timing on
+\echo '--- baseline: derived ContainingIgnoreCase query (tenant-wide scan)'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM customers
+WHERE tenant_id = '$TENANT' AND is_actv = TRUE AND upper(full_name) LIKE upper('%yilmaz-4242%') LIMIT 20;
+
+\echo '--- name, 2 chars: prefix index'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM customers
+WHERE tenant_id = '$TENANT' AND is_actv = TRUE AND lower(full_name) COLLATE "C" LIKE 'ja%'
+ORDER BY lower(full_name) COLLATE "C", id LIMIT 20;
+
+\echo '--- name fragment: trigram index, ranked'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM customers
+WHERE tenant_id = '$TENANT' AND is_actv = TRUE
+  AND (lower(full_name) LIKE '%yilmaz-4242%' OR 'yilmaz-4242' <% lower(full_name))
+ORDER BY lower(full_name) LIKE 'yilmaz-4242%' DESC, word_similarity('yilmaz-4242', lower(full_name)) DESC, full_name, id
+LIMIT 20;
+
+\echo '--- name typo: trigram word similarity'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM customers
+WHERE tenant_id = '$TENANT' AND is_actv = TRUE
+  AND (lower(full_name) LIKE '%yilmz-4242%' OR 'yilmz-4242' <% lower(full_name))
+ORDER BY lower(full_name) LIKE 'yilmz-4242%' DESC, word_similarity('yilmz-4242', lower(full_name)) DESC, full_name, id
+LIMIT 20;
+
+\echo '--- phone prefix'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM customers
+WHERE tenant_id = '$TENANT' AND is_actv = TRUE AND phone_e164 COLLATE "C" LIKE '+9050000042%'
+ORDER BY phone_e164 COLLATE "C", id LIMIT 20;
+
+\echo '--- phone, bare digits: international or national prefix'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM customers
+WHERE tenant_id = '$TENANT' AND is_actv = TRUE
+  AND (phone_e164 COLLATE "C" LIKE '+50000042%' OR phone_e164 COLLATE "C" LIKE '+9050000042%')
+ORDER BY phone_e164 COLLATE "C", id LIMIT 20;
+
+\echo '--- email fragment'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF) SELECT id FROM customers
+WHERE tenant_id = '$TENANT' AND is_actv = TRUE AND email_normalized LIKE '%user4242@%'
+ORDER BY email_normalized LIKE 'user4242@%' DESC, similarity(email_normalized, 'user4242@') DESC, email_normalized, id
+LIMIT 20;
+
+ROLLBACK;
+SQL
@@ -0,0 +1,33 @@
+package com.autorepair.customer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Search guards of DEC-028 / DEC-045. The gateway throttles per IP; the actor
+ * limit here is per replica.
+ */
+@Component
+@ConfigurationProperties(prefix = "customer.search")
+@Data
+public class CustomerSearchProperties {
+
+    private int minQueryLength = 2;
+
+    private int maxResults = 20;
+
+    private int rateLimitPerActorPerMinute = 120;
+
+    /**
+     * Name queries shorter than this match by prefix only; trigrams need three
+     * characters to narrow anything down.
+     */
+    private int minTrigramLength = 3;
+
+    /**
+     * Country calling code assumed for phone queries without one, e.g. "0532"
+     * searches +90532 with the default.
+     */
+    private String defaultCallingCode = "90";
+}
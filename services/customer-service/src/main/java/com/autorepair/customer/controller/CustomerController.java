@@ -1,7 +1,10 @@
 package com.autorepair.customer.controller;
 
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
 import com.autorepair.customer.dto.CreateCustomerRequest;
 import com.autorepair.customer.dto.CustomerResponse;
+import com.autorepair.customer.service.CustomerSearchService;
 import com.autorepair.customer.service.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -20,6 +24,7 @@ import java.util.UUID;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerSearchService customerSearchService;
 
     @PostMapping
     public ResponseEntity<CustomerResponse> create(@Valid @RequestBody CreateCustomerRequest request) {
@@ -33,6 +38,22 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.list(q, pageable));
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<CustomerResponse>> list(
+            @RequestParam(required = false) String q,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(customerService.list(q, CursorRequest.of(cursor, size, includeTotal)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerResponse>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(customerSearchService.search(q, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CustomerResponse> getById(@PathVariable UUID id) {
         return ResponseEntity.ok(customerService.getById(id));
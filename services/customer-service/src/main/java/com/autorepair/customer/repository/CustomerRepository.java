@@ -1,21 +1,62 @@
 package com.autorepair.customer.repository;
 
 import com.autorepair.customer.entity.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, UUID> {
 
-    Page<Customer> findByTenantIdAndActiveTrue(UUID tenantId, Pageable pageable);
+    // search terms go through escape() so % and _ match literally, as in the derived Containing queries
+    String SELECT_SUMMARY = "SELECT c.id AS id, c.tenantId AS tenantId, c.fullName AS fullName, c.phoneE164 AS phoneE164, " +
+            "c.emailNormalized AS emailNormalized, c.type AS type, c.status AS status, c.createdAt AS createdAt " +
+            "FROM Customer c ";
+
+    Page<CustomerSummary> findByTenantIdAndActiveTrue(UUID tenantId, Pageable pageable);
+
+    List<CustomerSummary> findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(UUID tenantId, Limit limit);
+
+    @Query(SELECT_SUMMARY + "WHERE c.tenantId = :tenantId AND c.active = true " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CustomerSummary> findPageAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") Instant createdAt,
+                                        @Param("id") UUID id, Limit limit);
+
+    long countByTenantIdAndActiveTrue(UUID tenantId);
+
+    @Query(SELECT_SUMMARY + "WHERE c.tenantId = :tenantId AND c.active = true AND LOWER(c.fullName) LIKE LOWER(CONCAT('%', :#{escape(#q)}, '%')) ESCAPE '\\' " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CustomerSummary> findByTenantIdAndFullNameContainingIgnoreCaseAndActiveTrueOrderByCreatedAtDescIdDesc(@Param("tenantId") UUID tenantId,
+                                                                                                            @Param("q") String q, Limit limit);
+
+    @Query(SELECT_SUMMARY + "WHERE c.tenantId = :tenantId AND c.active = true AND LOWER(c.fullName) LIKE LOWER(CONCAT('%', :#{escape(#q)}, '%')) ESCAPE '\\' " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CustomerSummary> findPageAfterMatching(@Param("tenantId") UUID tenantId, @Param("q") String q,
+                                                @Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT COUNT(c) FROM Customer c WHERE c.tenantId = :tenantId AND c.active = true " +
+           "AND LOWER(c.fullName) LIKE LOWER(CONCAT('%', :#{escape(#q)}, '%')) ESCAPE '\\'")
+    long countByTenantIdAndFullNameContainingIgnoreCaseAndActiveTrue(@Param("tenantId") UUID tenantId, @Param("q") String q);
 
     Page<Customer> findByActiveTrue(Pageable pageable);
 
-    Page<Customer> findByTenantIdAndFullNameContainingIgnoreCaseAndActiveTrue(UUID tenantId, String query, Pageable pageable);
+    // LOWER rather than the derived UPPER so the trigram index on lower(full_name) applies
+    @Query(value = SELECT_SUMMARY + "WHERE c.tenantId = :tenantId AND c.active = true " +
+                   "AND LOWER(c.fullName) LIKE LOWER(CONCAT('%', :#{escape(#query)}, '%')) ESCAPE '\\'",
+           countQuery = "SELECT COUNT(c) FROM Customer c WHERE c.tenantId = :tenantId AND c.active = true " +
+                   "AND LOWER(c.fullName) LIKE LOWER(CONCAT('%', :#{escape(#query)}, '%')) ESCAPE '\\'")
+    Page<CustomerSummary> findByTenantIdAndFullNameContainingIgnoreCaseAndActiveTrue(@Param("tenantId") UUID tenantId,
+                                                                                    @Param("query") String query, Pageable pageable);
 
     Page<Customer> findByFullNameContainingIgnoreCaseAndActiveTrue(String query, Pageable pageable);
 }
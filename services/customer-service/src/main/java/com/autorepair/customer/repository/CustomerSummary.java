@@ -0,0 +1,27 @@
+package com.autorepair.customer.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Columns of a customer list row; address and audit columns are left unread
+ * and the rows never enter the persistence context.
+ */
+public interface CustomerSummary {
+
+    UUID getId();
+
+    UUID getTenantId();
+
+    String getFullName();
+
+    String getPhoneE164();
+
+    String getEmailNormalized();
+
+    String getType();
+
+    String getStatus();
+
+    Instant getCreatedAt();
+}
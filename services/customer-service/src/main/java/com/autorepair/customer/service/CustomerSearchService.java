@@ -0,0 +1,175 @@
+package com.autorepair.customer.service;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.error.ErrorCode;
+import com.autorepair.common.security.TenantContext;
+import com.autorepair.customer.config.CustomerSearchProperties;
+import com.autorepair.customer.dto.CustomerResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Front-desk customer search by name, phone or email, ranked best match first.
+ * Each mode is served by its own index (V14): prefix B-trees for short names and
+ * phone numbers, trigram GIN indexes for name and email fragments.
+ */
+@Service
+@Slf4j
+public class CustomerSearchService {
+
+    private static final Pattern PHONE = Pattern.compile("^\\+?[0-9][0-9 ()\\-]*$");
+    private static final String PII_READ = "CUSTOMER_PII_READ";
+
+    private static final String COLUMNS =
+        "SELECT id, tenant_id, full_name, phone_e164, email_normalized, type, status, created_at FROM customers ";
+
+    private static final String NAME_PREFIX = COLUMNS +
+        "WHERE tenant_id = :tenantId AND is_actv = TRUE AND lower(full_name) COLLATE \"C\" LIKE :prefix " +
+        "ORDER BY lower(full_name) COLLATE \"C\", id LIMIT :limit";
+
+    // exact prefix first, then word similarity (pg_trgm <%) for typos and later words
+    private static final String NAME_FUZZY = COLUMNS +
+        "WHERE tenant_id = :tenantId AND is_actv = TRUE " +
+        "AND (lower(full_name) LIKE :contains OR :q <% lower(full_name)) " +
+        "ORDER BY lower(full_name) LIKE :prefix DESC, word_similarity(:q, lower(full_name)) DESC, full_name, id " +
+        "LIMIT :limit";
+
+    // two prefix ranges when the query could be either international or national without trunk 0
+    private static final String PHONE_PREFIX = COLUMNS +
+        "WHERE tenant_id = :tenantId AND is_actv = TRUE " +
+        "AND (phone_e164 COLLATE \"C\" LIKE :prefix OR phone_e164 COLLATE \"C\" LIKE :nationalPrefix) " +
+        "ORDER BY phone_e164 COLLATE \"C\", id LIMIT :limit";
+
+    private static final String EMAIL = COLUMNS +
+        "WHERE tenant_id = :tenantId AND is_actv = TRUE AND email_normalized LIKE :contains " +
+        "ORDER BY email_normalized LIKE :prefix DESC, similarity(email_normalized, :q) DESC, email_normalized, id " +
+        "LIMIT :limit";
+
+    private static final RowMapper<CustomerResponse> ROW_MAPPER = (rs, rowNum) -> CustomerResponse.builder()
+        .id(rs.getObject("id", UUID.class))
+        .tenantId(rs.getObject("tenant_id", UUID.class))
+        .fullName(rs.getString("full_name"))
+        .phoneE164(rs.getString("phone_e164"))
+        .emailNormalized(rs.getString("email_normalized"))
+        .type(rs.getString("type"))
+        .status(rs.getString("status"))
+        .createdAt(rs.getTimestamp("created_at").toInstant())
+        .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CustomerSearchProperties properties;
+    private final Cache<String, AtomicInteger> requestsPerActor;
+
+    public CustomerSearchService(NamedParameterJdbcTemplate jdbcTemplate, CustomerSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        // fixed one-minute window per actor, starting at the actor's first search
+        this.requestsPerActor = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .maximumSize(100_000)
+            .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerResponse> search(String query, Integer limit) {
+        String q = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (q.length() < properties.getMinQueryLength()) {
+            throw invalid("Search query must be at least " + properties.getMinQueryLength() + " characters");
+        }
+        throttle();
+
+        int max = properties.getMaxResults();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("tenantId", TenantContext.getTenantId())
+            .addValue("limit", limit == null ? max : Math.max(1, Math.min(limit, max)));
+
+        if (q.indexOf('@') >= 0) {
+            requirePiiRead();
+            return jdbcTemplate.query(EMAIL, params.addValue("q", q)
+                .addValue("prefix", escapeLike(q) + "%")
+                .addValue("contains", "%" + escapeLike(q) + "%"), ROW_MAPPER);
+        }
+        if (PHONE.matcher(q).matches()) {
+            requirePiiRead();
+            String digits = q.replaceAll("[^0-9]", "");
+            if (digits.length() < properties.getMinQueryLength()) {
+                throw invalid("Phone search needs at least " + properties.getMinQueryLength() + " digits");
+            }
+            return jdbcTemplate.query(PHONE_PREFIX, phonePrefixes(q, digits, params), ROW_MAPPER);
+        }
+        if (q.length() < properties.getMinTrigramLength()) {
+            return jdbcTemplate.query(NAME_PREFIX, params.addValue("prefix", escapeLike(q) + "%"), ROW_MAPPER);
+        }
+        return jdbcTemplate.query(NAME_FUZZY, params.addValue("q", q)
+            .addValue("prefix", escapeLike(q) + "%")
+            .addValue("contains", "%" + escapeLike(q) + "%"), ROW_MAPPER);
+    }
+
+    /**
+     * phone_e164 is stored as +&lt;country&gt;&lt;number&gt;. "+90 532" and "0090 532" are
+     * international, "0532" is national with trunk prefix; bare digits such as
+     * "532 12" may be either, so both ranges are searched.
+     */
+    private MapSqlParameterSource phonePrefixes(String q, String digits, MapSqlParameterSource params) {
+        String national = "+" + properties.getDefaultCallingCode();
+        String prefix;
+        String nationalPrefix;
+        if (q.startsWith("+")) {
+            prefix = "+" + digits;
+            nationalPrefix = prefix;
+        } else if (digits.startsWith("00")) {
+            prefix = "+" + digits.substring(2);
+            nationalPrefix = prefix;
+        } else if (digits.startsWith("0")) {
+            prefix = national + digits.substring(1);
+            nationalPrefix = prefix;
+        } else {
+            prefix = "+" + digits;
+            nationalPrefix = national + digits;
+        }
+        return params.addValue("prefix", prefix + "%").addValue("nationalPrefix", nationalPrefix + "%");
+    }
+
+    private void throttle() {
+        String actor = TenantContext.getUserId() != null ? TenantContext.getUserId() : "tenant:" + TenantContext.getTenantId();
+        int count = requestsPerActor.get(actor, key -> new AtomicInteger()).incrementAndGet();
+        if (count > properties.getRateLimitPerActorPerMinute()) {
+            if (count == properties.getRateLimitPerActorPerMinute() + 1) {
+                log.warn("Customer search rate limit reached: tenantId={}, actor={}", TenantContext.getTenantId(), actor);
+            }
+            throw new BusinessException(ErrorCode.ERR_RATE_LIMITED, "Too many search requests",
+                "error.rate.limited", HttpStatus.TOO_MANY_REQUESTS);
+        }
+    }
+
+    private static void requirePiiRead() {
+        // DEC-028: phone and email are PII search keys
+        TenantContext context = TenantContext.get();
+        if (context == null || !context.hasPermission(PII_READ)) {
+            throw BusinessException.forbidden("Searching by phone or email requires " + PII_READ);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static BusinessException invalid(String message) {
+        return new BusinessException(ErrorCode.ERR_VALIDATION_FAILED, message,
+            "error.validation.failed", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -1,11 +1,15 @@
 package com.autorepair.customer.service;
 
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
+import com.autorepair.common.paging.PageCursor;
 import com.autorepair.common.security.TenantContext;
 import com.autorepair.common.security.exception.ResourceNotFoundException;
 import com.autorepair.customer.dto.CreateCustomerRequest;
 import com.autorepair.customer.dto.CustomerResponse;
 import com.autorepair.customer.entity.Customer;
 import com.autorepair.customer.repository.CustomerRepository;
+import com.autorepair.customer.repository.CustomerSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -50,13 +55,37 @@ public class CustomerService {
     @Transactional(readOnly = true)
     public Page<CustomerResponse> list(String query, Pageable pageable) {
         UUID tenantId = TenantContext.getTenantId();
-        Page<Customer> page;
+        Page<CustomerSummary> page;
         if (query != null && !query.isBlank()) {
             page = customerRepository.findByTenantIdAndFullNameContainingIgnoreCaseAndActiveTrue(tenantId, query, pageable);
         } else {
             page = customerRepository.findByTenantIdAndActiveTrue(tenantId, pageable);
         }
-        return page.map(this::toResponse);
+        return page.map(this::toSummaryResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CustomerResponse> list(String q, CursorRequest request) {
+        UUID tenantId = TenantContext.getTenantId();
+        PageCursor after = request.after();
+        boolean filtered = q != null && !q.isBlank();
+        List<CustomerSummary> rows;
+        if (filtered) {
+            rows = after == null
+                    ? customerRepository.findByTenantIdAndFullNameContainingIgnoreCaseAndActiveTrueOrderByCreatedAtDescIdDesc(tenantId, q, request.limit())
+                    : customerRepository.findPageAfterMatching(tenantId, q, after.createdAt(), after.id(), request.limit());
+        } else {
+            rows = after == null
+                    ? customerRepository.findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(tenantId, request.limit())
+                    : customerRepository.findPageAfter(tenantId, after.createdAt(), after.id(), request.limit());
+        }
+        Long total = null;
+        if (request.includeTotal()) {
+            total = filtered
+                    ? customerRepository.countByTenantIdAndFullNameContainingIgnoreCaseAndActiveTrue(tenantId, q)
+                    : customerRepository.countByTenantIdAndActiveTrue(tenantId);
+        }
+        return CursorPage.of(rows, request, e -> new PageCursor(e.getCreatedAt(), e.getId()), this::toSummaryResponse, total);
     }
 
     @Transactional(readOnly = true)
@@ -93,4 +122,17 @@ public class CustomerService {
                 .createdAt(c.getCreatedAt())
                 .build();
     }
+
+    private CustomerResponse toSummaryResponse(CustomerSummary c) {
+        return CustomerResponse.builder()
+                .id(c.getId())
+                .tenantId(c.getTenantId())
+                .fullName(c.getFullName())
+                .phoneE164(c.getPhoneE164())
+                .emailNormalized(c.getEmailNormalized())
+                .type(c.getType())
+                .status(c.getStatus())
+                .createdAt(c.getCreatedAt())
+                .build();
+    }
 }
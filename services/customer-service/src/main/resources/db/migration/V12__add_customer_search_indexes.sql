@@ -0,0 +1,22 @@
+-- Customer search (CustomerSearchService); btree_gin lets the trigram indexes lead with tenant_id
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- name fragments and typos: LIKE '%q%' and word similarity (<%)
+CREATE INDEX idx_customers_name_trgm ON customers USING gin (tenant_id, lower(full_name) gin_trgm_ops)
+    WHERE is_deleted = FALSE;
+
+-- short name prefixes, already in result order
+CREATE INDEX idx_customers_name_prefix ON customers(tenant_id, (lower(full_name) COLLATE "C"))
+    WHERE is_deleted = FALSE;
+
+-- phone prefixes on the E.164 form
+CREATE INDEX idx_customers_phone_prefix ON customers(tenant_id, (phone_e164 COLLATE "C"))
+    WHERE is_deleted = FALSE AND phone_e164 IS NOT NULL;
+
+CREATE INDEX idx_customers_email_trgm ON customers USING gin (tenant_id, email_normalized gin_trgm_ops)
+    WHERE is_deleted = FALSE AND email_normalized IS NOT NULL;
+
+-- superseded by the tenant-leading indexes above
+DROP INDEX IF EXISTS idx_customers_phone;
+DROP INDEX IF EXISTS idx_customers_email;
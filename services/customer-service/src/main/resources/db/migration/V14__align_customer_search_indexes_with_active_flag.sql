@@ -0,0 +1,17 @@
+-- CustomerSearchService filters is_actv = TRUE (the flag CustomerService.delete clears); rebuild the V12
+-- search indexes on that predicate so the planner can use them
+DROP INDEX IF EXISTS idx_customers_name_trgm;
+CREATE INDEX idx_customers_name_trgm ON customers USING gin (tenant_id, lower(full_name) gin_trgm_ops)
+    WHERE is_actv = TRUE;
+
+DROP INDEX IF EXISTS idx_customers_name_prefix;
+CREATE INDEX idx_customers_name_prefix ON customers(tenant_id, (lower(full_name) COLLATE "C"))
+    WHERE is_actv = TRUE;
+
+DROP INDEX IF EXISTS idx_customers_phone_prefix;
+CREATE INDEX idx_customers_phone_prefix ON customers(tenant_id, (phone_e164 COLLATE "C"))
+    WHERE is_actv = TRUE AND phone_e164 IS NOT NULL;
+
+DROP INDEX IF EXISTS idx_customers_email_trgm;
+CREATE INDEX idx_customers_email_trgm ON customers USING gin (tenant_id, email_normalized gin_trgm_ops)
+    WHERE is_actv = TRUE AND email_normalized IS NOT NULL;
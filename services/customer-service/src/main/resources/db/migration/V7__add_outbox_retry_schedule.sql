@@ -0,0 +1,7 @@
+ALTER TABLE outbox_events ADD COLUMN next_attempt_at TIMESTAMP;
+UPDATE outbox_events SET next_attempt_at = created_at;
+ALTER TABLE outbox_events ALTER COLUMN next_attempt_at SET NOT NULL;
+ALTER TABLE outbox_events ADD COLUMN dead_lettered_at TIMESTAMP;
+
+CREATE INDEX idx_outbox_dead_letter_pending ON outbox_events(created_at)
+    WHERE status = 'FAILED' AND dead_lettered_at IS NULL;
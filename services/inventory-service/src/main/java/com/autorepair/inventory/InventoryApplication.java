@@ -12,7 +12,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
     "com.autorepair.common.error",
     "com.autorepair.common.idempotency",
     "com.autorepair.common.outbox",
-    "com.autorepair.common.events"
+    "com.autorepair.common.events",
+    "com.autorepair.common.retention"
 })
 @EnableJpaRepositories(basePackages = {
     "com.autorepair.inventory",
@@ -1,5 +1,7 @@
 package com.autorepair.inventory.controller;
 
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
 import com.autorepair.inventory.dto.CreateInventoryPartRequest;
 import com.autorepair.inventory.dto.InventoryPartResponse;
 import com.autorepair.inventory.service.InventoryService;
@@ -34,6 +36,14 @@ public class InventoryController {
         return ResponseEntity.ok(inventoryService.list(pageable));
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<InventoryPartResponse>> list(
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(inventoryService.list(CursorRequest.of(cursor, size, includeTotal)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InventoryPartResponse> getById(@PathVariable UUID id) {
         return ResponseEntity.ok(inventoryService.getById(id));
@@ -1,18 +1,36 @@
 package com.autorepair.inventory.repository;
 
 import com.autorepair.inventory.entity.InventoryPart;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface InventoryPartRepository extends JpaRepository<InventoryPart, UUID> {
 
-    Page<InventoryPart> findByTenantIdAndActiveTrue(UUID tenantId, Pageable pageable);
+    Page<InventoryPartSummary> findByTenantIdAndActiveTrue(UUID tenantId, Pageable pageable);
+
+    List<InventoryPartSummary> findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(UUID tenantId, Limit limit);
+
+    @Query("SELECT p.id AS id, p.tenantId AS tenantId, p.partCode AS partCode, p.name AS name, " +
+           "p.category AS category, p.brand AS brand, p.unitPrice AS unitPrice, p.currency AS currency, " +
+           "p.quantityOnHand AS quantityOnHand, p.reorderLevel AS reorderLevel, p.unit AS unit, " +
+           "p.location AS location, p.createdAt AS createdAt, p.updatedAt AS updatedAt FROM InventoryPart p WHERE p.tenantId = :tenantId AND p.active = true " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<InventoryPartSummary> findPageAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") Instant createdAt,
+                                             @Param("id") UUID id, Limit limit);
+
+    long countByTenantIdAndActiveTrue(UUID tenantId);
 
     Page<InventoryPart> findByActiveTrue(Pageable pageable);
 
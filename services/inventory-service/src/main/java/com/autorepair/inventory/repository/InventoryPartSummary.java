@@ -0,0 +1,39 @@
+package com.autorepair.inventory.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Columns of an inventory list row; the TEXT description is left unread.
+ */
+public interface InventoryPartSummary {
+
+    UUID getId();
+
+    UUID getTenantId();
+
+    String getPartCode();
+
+    String getName();
+
+    String getCategory();
+
+    String getBrand();
+
+    BigDecimal getUnitPrice();
+
+    String getCurrency();
+
+    int getQuantityOnHand();
+
+    int getReorderLevel();
+
+    String getUnit();
+
+    String getLocation();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+}
@@ -1,11 +1,15 @@
 package com.autorepair.inventory.service;
 
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
+import com.autorepair.common.paging.PageCursor;
 import com.autorepair.common.security.TenantContext;
 import com.autorepair.common.security.exception.ResourceNotFoundException;
 import com.autorepair.inventory.dto.CreateInventoryPartRequest;
 import com.autorepair.inventory.dto.InventoryPartResponse;
 import com.autorepair.inventory.entity.InventoryPart;
 import com.autorepair.inventory.repository.InventoryPartRepository;
+import com.autorepair.inventory.repository.InventoryPartSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -51,9 +56,20 @@ public class InventoryService {
     @Transactional(readOnly = true)
     public Page<InventoryPartResponse> list(Pageable pageable) {
         UUID tenantId = TenantContext.getTenantId();
-        Page<InventoryPart> page;
+        Page<InventoryPartSummary> page;
         page = repository.findByTenantIdAndActiveTrue(tenantId, pageable);
-        return page.map(this::toResponse);
+        return page.map(this::toSummaryResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<InventoryPartResponse> list(CursorRequest request) {
+        UUID tenantId = TenantContext.getTenantId();
+        PageCursor after = request.after();
+        List<InventoryPartSummary> rows = after == null
+                ? repository.findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(tenantId, request.limit())
+                : repository.findPageAfter(tenantId, after.createdAt(), after.id(), request.limit());
+        Long total = request.includeTotal() ? repository.countByTenantIdAndActiveTrue(tenantId) : null;
+        return CursorPage.of(rows, request, e -> new PageCursor(e.getCreatedAt(), e.getId()), this::toSummaryResponse, total);
     }
 
     @Transactional(readOnly = true)
@@ -100,4 +116,23 @@ public class InventoryService {
                 .updatedAt(p.getUpdatedAt())
                 .build();
     }
+
+    private InventoryPartResponse toSummaryResponse(InventoryPartSummary p) {
+        return InventoryPartResponse.builder()
+                .id(p.getId())
+                .tenantId(p.getTenantId())
+                .partCode(p.getPartCode())
+                .name(p.getName())
+                .category(p.getCategory())
+                .brand(p.getBrand())
+                .unitPrice(p.getUnitPrice())
+                .currency(p.getCurrency())
+                .quantityOnHand(p.getQuantityOnHand())
+                .reorderLevel(p.getReorderLevel())
+                .unit(p.getUnit())
+                .location(p.getLocation())
+                .createdAt(p.getCreatedAt())
+                .updatedAt(p.getUpdatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,69 @@
+-- Range-partition the outbox by created_at so published history can be dropped a day at a time
+ALTER TABLE outbox_events RENAME TO outbox_events_legacy;
+DROP TRIGGER trg_outbox_events_notify ON outbox_events_legacy;
+DROP INDEX idx_outbox_status;
+DROP INDEX idx_outbox_tenant;
+DROP INDEX idx_outbox_pending;
+DROP INDEX idx_outbox_dead_letter_pending;
+
+CREATE TABLE outbox_events (
+    id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    branch_id UUID,
+    event_type VARCHAR(100) NOT NULL,
+    event_version INTEGER NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    payload TEXT NOT NULL,
+    topic VARCHAR(100) NOT NULL,
+    published_at TIMESTAMP,
+    status VARCHAR(20) NOT NULL,
+    error_message TEXT,
+    retry_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(100),
+    locked_until TIMESTAMP,
+    next_attempt_at TIMESTAMP NOT NULL,
+    dead_lettered_at TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Catches rows outside the pre-created range; OutboxPartitionMaintenance moves them into a day partition
+-- on its next run and reports what is left as outbox.partition.default.rows
+CREATE TABLE outbox_events_default PARTITION OF outbox_events DEFAULT;
+
+-- Existing history goes into one partition ending today, then one partition per day for the next week
+DO $$
+DECLARE
+    first_day DATE := COALESCE((SELECT MIN(created_at)::date FROM outbox_events_legacy), CURRENT_DATE);
+    day DATE;
+BEGIN
+    IF first_day < CURRENT_DATE THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF outbox_events FOR VALUES FROM (%L) TO (%L)',
+            'outbox_events_p' || to_char(first_day, 'YYYYMMDD'), first_day, CURRENT_DATE);
+    END IF;
+    FOR i IN 0..7 LOOP
+        day := CURRENT_DATE + i;
+        EXECUTE format('CREATE TABLE %I PARTITION OF outbox_events FOR VALUES FROM (%L) TO (%L)',
+            'outbox_events_p' || to_char(day, 'YYYYMMDD'), day, day + 1);
+    END LOOP;
+END $$;
+
+INSERT INTO outbox_events (id, tenant_id, branch_id, event_type, event_version, occurred_at, payload, topic,
+                           published_at, status, error_message, retry_count, created_at, locked_by, locked_until,
+                           next_attempt_at, dead_lettered_at)
+SELECT id, tenant_id, branch_id, event_type, event_version, occurred_at, payload, topic,
+       published_at, status, error_message, retry_count, created_at, locked_by, locked_until,
+       next_attempt_at, dead_lettered_at
+FROM outbox_events_legacy;
+
+DROP TABLE outbox_events_legacy;
+
+CREATE INDEX idx_outbox_status ON outbox_events(status, created_at);
+CREATE INDEX idx_outbox_tenant ON outbox_events(tenant_id);
+CREATE INDEX idx_outbox_pending ON outbox_events(created_at) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_dead_letter_pending ON outbox_events(created_at)
+    WHERE status = 'FAILED' AND dead_lettered_at IS NULL;
+
+CREATE TRIGGER trg_outbox_events_notify
+    AFTER INSERT ON outbox_events
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_outbox_events();
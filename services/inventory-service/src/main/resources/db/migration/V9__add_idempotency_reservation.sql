@@ -0,0 +1,3 @@
+-- In-flight reservations: a key is claimed as IN_PROGRESS before the operation runs
+ALTER TABLE idempotency_records ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'COMPLETED';
+ALTER TABLE idempotency_records ALTER COLUMN response_status DROP NOT NULL;
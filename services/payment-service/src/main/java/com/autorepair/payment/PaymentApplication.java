@@ -11,7 +11,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
     "com.autorepair.common.security",
     "com.autorepair.common.error",
     "com.autorepair.common.idempotency",
-    "com.autorepair.common.outbox"
+    "com.autorepair.common.outbox",
+    "com.autorepair.common.retention"
 })
 @EnableJpaRepositories(basePackages = {
     "com.autorepair.payment",
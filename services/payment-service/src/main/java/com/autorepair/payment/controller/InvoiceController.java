@@ -1,5 +1,7 @@
 package com.autorepair.payment.controller;
 
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
 import com.autorepair.payment.dto.InvoiceResponse;
 import com.autorepair.payment.service.InvoiceService;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +25,14 @@ public class InvoiceController {
         return ResponseEntity.ok(invoiceService.list(pageable));
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<InvoiceResponse>> list(
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(invoiceService.list(CursorRequest.of(cursor, size, includeTotal)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<InvoiceResponse> getInvoice(@PathVariable UUID id) {
         return ResponseEntity.ok(invoiceService.getById(id));
@@ -1,11 +1,16 @@
 package com.autorepair.payment.repository;
 
 import com.autorepair.payment.entity.Invoice;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,6 +19,16 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
 
     Page<Invoice> findByTenantIdAndActiveTrue(UUID tenantId, Pageable pageable);
 
+    List<Invoice> findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(UUID tenantId, Limit limit);
+
+    @Query("SELECT i FROM Invoice i WHERE i.tenantId = :tenantId AND i.active = true " +
+           "AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) " +
+           "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Invoice> findPageAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") Instant createdAt,
+                                @Param("id") UUID id, Limit limit);
+
+    long countByTenantIdAndActiveTrue(UUID tenantId);
+
     Page<Invoice> findByActiveTrue(Pageable pageable);
 
     Page<Invoice> findByTenantIdAndWorkOrderIdAndActiveTrue(UUID tenantId, UUID workOrderId, Pageable pageable);
@@ -1,5 +1,8 @@
 package com.autorepair.payment.service;
 
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
+import com.autorepair.common.paging.PageCursor;
 import com.autorepair.common.security.TenantContext;
 import com.autorepair.common.security.exception.ResourceNotFoundException;
 import com.autorepair.payment.dto.InvoiceResponse;
@@ -11,6 +14,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -26,6 +30,17 @@ public class InvoiceService {
         return page.map(this::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<InvoiceResponse> list(CursorRequest request) {
+        UUID tenantId = TenantContext.getTenantId();
+        PageCursor after = request.after();
+        List<Invoice> rows = after == null
+                ? invoiceRepository.findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(tenantId, request.limit())
+                : invoiceRepository.findPageAfter(tenantId, after.createdAt(), after.id(), request.limit());
+        Long total = request.includeTotal() ? invoiceRepository.countByTenantIdAndActiveTrue(tenantId) : null;
+        return CursorPage.of(rows, request, e -> new PageCursor(e.getCreatedAt(), e.getId()), this::toResponse, total);
+    }
+
     @Transactional(readOnly = true)
     public InvoiceResponse getById(UUID id) {
         UUID tenantId = TenantContext.getTenantId();
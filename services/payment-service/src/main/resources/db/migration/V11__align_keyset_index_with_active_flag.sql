@@ -0,0 +1,6 @@
+-- Invoice.active maps to is_actv and delete() clears it, so the keyset index must be partial on is_actv
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS is_actv BOOLEAN NOT NULL DEFAULT TRUE;
+UPDATE invoices SET is_actv = FALSE WHERE is_deleted = TRUE AND is_actv = TRUE;
+
+DROP INDEX IF EXISTS idx_invoices_tenant_keyset;
+CREATE INDEX idx_invoices_tenant_keyset ON invoices(tenant_id, created_at DESC, id DESC) WHERE is_actv = TRUE;
@@ -0,0 +1,4 @@
+-- Kafka record keys per DEC-042 partitionKeyStrategy; NULL keys of older rows fall back to the tenant
+ALTER TABLE outbox_events ADD COLUMN aggregate_id UUID;
+ALTER TABLE outbox_events ADD COLUMN partition_key_strategy VARCHAR(20);
+ALTER TABLE outbox_events ADD COLUMN partition_key VARCHAR(100);
@@ -0,0 +1,24 @@
+package com.autorepair.tenantadmin.config;
+
+import com.autorepair.common.security.policy.PolicyProperties;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class PolicyTopicConfig {
+
+    /**
+     * Compacted, so the latest snapshot of every tenant survives for replicas
+     * that start later.
+     */
+    @Bean
+    public NewTopic policySnapshotTopic(PolicyProperties policyProperties) {
+        return TopicBuilder.name(policyProperties.getSnapshotTopic())
+            .partitions(6)
+            .config(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT)
+            .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.autorepair.tenantadmin.controller;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.security.TenantContext;
+import com.autorepair.tenantadmin.dto.MembershipResponse;
+import com.autorepair.tenantadmin.service.MembershipService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/v1/memberships")
+@RequiredArgsConstructor
+public class MembershipController {
+
+    private static final Set<String> ADMIN_ROLES = Set.of("OWNER", "ADMIN");
+
+    private final MembershipService membershipService;
+
+    @GetMapping("/me")
+    public ResponseEntity<MembershipResponse> me() {
+        return ResponseEntity.ok(membershipService.getCurrent());
+    }
+
+    /**
+     * Evicts the caller's tenant from every service's membership cache, e.g.
+     * after revoking access directly in the database.
+     */
+    @PostMapping("/invalidations")
+    public ResponseEntity<Void> invalidate() {
+        TenantContext context = TenantContext.get();
+        if (context == null || !context.hasAnyRole(ADMIN_ROLES)) {
+            throw BusinessException.forbidden("Invalidating memberships requires OWNER or ADMIN role");
+        }
+        membershipService.invalidateTenant(TenantContext.getTenantId());
+        return ResponseEntity.accepted().build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.autorepair.tenantadmin.controller;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.security.TenantContext;
+import com.autorepair.common.security.policy.PolicySnapshotDocument;
+import com.autorepair.tenantadmin.service.PolicySnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/v1/policies/snapshots")
+@RequiredArgsConstructor
+public class PolicySnapshotController {
+
+    private static final Set<String> ADMIN_ROLES = Set.of("OWNER", "ADMIN");
+
+    private final PolicySnapshotService policySnapshotService;
+
+    /**
+     * Recompiles and republishes the caller's tenant snapshot, e.g. after a
+     * policy publish or rollback.
+     */
+    @PostMapping
+    public ResponseEntity<PolicySnapshotDocument> compile() {
+        TenantContext context = TenantContext.get();
+        if (context == null || !context.hasAnyRole(ADMIN_ROLES)) {
+            throw BusinessException.forbidden("Compiling policy snapshots requires OWNER or ADMIN role");
+        }
+        return ResponseEntity.ok(policySnapshotService.compile(TenantContext.getTenantId()));
+    }
+}
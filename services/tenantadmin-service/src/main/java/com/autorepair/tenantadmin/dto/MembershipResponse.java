@@ -0,0 +1,22 @@
+package com.autorepair.tenantadmin.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class MembershipResponse {
+    private UUID tenantId;
+    private UUID userId;
+    private String status;
+    private boolean active;
+    private List<String> roles;
+    /**
+     * {@code true} when at least one role is assigned without a branch.
+     */
+    private boolean tenantWide;
+    private List<UUID> branchIds;
+}
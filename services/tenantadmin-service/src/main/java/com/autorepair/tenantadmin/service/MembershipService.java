@@ -0,0 +1,123 @@
+package com.autorepair.tenantadmin.service;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.outbox.OutboxEvent;
+import com.autorepair.common.outbox.OutboxRepository;
+import com.autorepair.common.outbox.PartitionKeyStrategy;
+import com.autorepair.common.security.MembershipProperties;
+import com.autorepair.common.security.TenantContext;
+import com.autorepair.tenantadmin.dto.MembershipResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MembershipService {
+
+    public static final String MEMBERSHIP_UPDATED = "MembershipUpdated";
+
+    private static final String SELECT_MEMBERSHIP =
+        "SELECT m.status, r.name AS role_name, ra.id AS assignment_id, ra.branch_id " +
+        "FROM tenant_memberships m " +
+        // an assignment only counts while its role exists; otherwise it would keep granting branch scope
+        "LEFT JOIN (role_assignments ra JOIN roles r ON r.id = ra.role_id AND r.is_deleted = FALSE) " +
+        "ON ra.membership_id = m.id AND ra.is_deleted = FALSE " +
+        "WHERE m.tenant_id = ? AND m.user_id = ? AND m.is_deleted = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final MembershipProperties membershipProperties;
+
+    /**
+     * Membership of the calling user in the tenant of their token, as verified by
+     * other services (DEC-015).
+     */
+    @Transactional(readOnly = true)
+    public MembershipResponse getCurrent() {
+        UUID tenantId = TenantContext.getTenantId();
+        UUID userId = parseUserId(TenantContext.getUserId());
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_MEMBERSHIP, tenantId, userId);
+        if (rows.isEmpty()) {
+            throw BusinessException.notFound("Membership not found");
+        }
+
+        String status = (String) rows.get(0).get("status");
+        Set<String> roles = new LinkedHashSet<>();
+        Set<UUID> branchIds = new LinkedHashSet<>();
+        boolean tenantWide = false;
+        for (Map<String, Object> row : rows) {
+            if (row.get("assignment_id") == null || row.get("role_name") == null) {
+                continue;
+            }
+            roles.add((String) row.get("role_name"));
+            if (row.get("branch_id") != null) {
+                branchIds.add((UUID) row.get("branch_id"));
+            } else {
+                tenantWide = true;
+            }
+        }
+
+        return MembershipResponse.builder()
+            .tenantId(tenantId)
+            .userId(userId)
+            .status(status)
+            .active("ACTIVE".equals(status))
+            .roles(new ArrayList<>(roles))
+            .tenantWide(tenantWide)
+            .branchIds(new ArrayList<>(branchIds))
+            .build();
+    }
+
+    /**
+     * Publishes MembershipUpdated for the tenant so every service evicts its
+     * cached memberships instead of waiting for the TTL. Until membership, role
+     * and branch changes are written through this service, this is how an
+     * operator makes a direct database change take effect.
+     */
+    @Transactional
+    public void invalidateTenant(UUID tenantId) {
+        Instant now = Instant.now();
+        try {
+            outboxRepository.save(OutboxEvent.builder()
+                .tenantId(tenantId)
+                .aggregateId(tenantId)
+                .partitionKeyStrategy(PartitionKeyStrategy.TENANT)
+                .eventType(MEMBERSHIP_UPDATED)
+                .eventVersion(1)
+                .occurredAt(now)
+                .payload(objectMapper.writeValueAsString(Map.of("tenantId", tenantId, "occurredAt", now)))
+                .topic(membershipProperties.getEventsTopic())
+                .retryCount(0)
+                .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Membership event not serializable", e);
+        }
+        log.info("Queued membership invalidation: tenantId={}", tenantId);
+    }
+
+    private static UUID parseUserId(String userId) {
+        if (userId == null) {
+            throw BusinessException.notFound("Membership not found");
+        }
+        try {
+            return UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            throw BusinessException.notFound("Membership not found");
+        }
+    }
+}
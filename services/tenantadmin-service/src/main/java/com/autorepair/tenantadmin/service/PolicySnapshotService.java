@@ -0,0 +1,204 @@
+package com.autorepair.tenantadmin.service;
+
+import com.autorepair.common.outbox.OutboxEvent;
+import com.autorepair.common.outbox.OutboxRepository;
+import com.autorepair.common.outbox.PartitionKeyStrategy;
+import com.autorepair.common.security.policy.PolicyProperties;
+import com.autorepair.common.security.policy.PolicySnapshotDocument;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compiles a tenant's active policies into a {@link PolicySnapshotDocument} with
+ * precedence already applied and publishes it through the outbox, in the same
+ * transaction that assigns its version.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PolicySnapshotService {
+
+    private static final String SELECT_ACTIVE =
+        "SELECT policy_key, policy_value, version_number, branch_id, role_name FROM policy_records " +
+        "WHERE tenant_id = ? AND status = 'PUBLISHED' AND is_deleted = FALSE " +
+        "AND (effective_from IS NULL OR effective_from <= ?) AND (effective_until IS NULL OR effective_until > ?)";
+    // row lock held until commit: concurrent compiles and policy writes (V12 trigger) queue behind it
+    private static final String NEXT_VERSION =
+        "INSERT INTO policy_snapshot_versions (tenant_id, version, compiled_at) VALUES (?, 1, ?) " +
+        "ON CONFLICT (tenant_id) DO UPDATE SET version = policy_snapshot_versions.version + 1, " +
+        "compiled_at = EXCLUDED.compiled_at, stale = FALSE RETURNING version";
+    // any policy_records write since the last compile (V12 trigger), never compiled, or an
+    // effective window opened or closed since the last compile
+    private static final String DUE_TENANTS =
+        "SELECT tenant_id FROM policy_snapshot_versions WHERE stale " +
+        "UNION " +
+        "SELECT p.tenant_id FROM policy_records p " +
+        "LEFT JOIN policy_snapshot_versions s ON s.tenant_id = p.tenant_id " +
+        "WHERE p.status = 'PUBLISHED' AND p.is_deleted = FALSE AND (s.tenant_id IS NULL " +
+        "OR (p.effective_from > s.compiled_at AND p.effective_from <= ?) " +
+        "OR (p.effective_until > s.compiled_at AND p.effective_until <= ?))";
+
+    private static final String RECOMPILE_LOCK = "policy-snapshot:recompile";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final PolicyProperties policyProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional
+    public PolicySnapshotDocument compile(UUID tenantId) {
+        Instant now = Instant.now();
+        Timestamp at = Timestamp.from(now);
+        // version first: rows read after the lock include every write committed before it
+        Long version = jdbcTemplate.queryForObject(NEXT_VERSION, Long.class, tenantId, at);
+        List<Row> rows = jdbcTemplate.query(SELECT_ACTIVE, (rs, i) -> new Row(
+            rs.getString("policy_key"),
+            rs.getString("policy_value"),
+            rs.getInt("version_number"),
+            rs.getObject("branch_id", UUID.class),
+            rs.getString("role_name")
+        ), tenantId, at, at);
+        PolicySnapshotDocument document = new PolicySnapshotDocument(tenantId, version, now, flatten(rows));
+
+        try {
+            outboxRepository.save(OutboxEvent.builder()
+                .tenantId(tenantId)
+                .aggregateId(tenantId)
+                .partitionKeyStrategy(PartitionKeyStrategy.TENANT)
+                .eventType(PolicySnapshotDocument.EVENT_TYPE)
+                .eventVersion(1)
+                .occurredAt(now)
+                .payload(objectMapper.writeValueAsString(document))
+                .topic(policyProperties.getSnapshotTopic())
+                .retryCount(0)
+                .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Policy snapshot not serializable", e);
+        }
+        log.info("Compiled policy snapshot: tenantId={}, version={}, policies={}", tenantId, version, rows.size());
+        return document;
+    }
+
+    /**
+     * Recompiles every due tenant. One replica at a time, chosen with a Postgres
+     * session advisory lock held on a connection of its own for the whole run.
+     */
+    @Scheduled(fixedDelayString = "${policy.snapshot.recompile-interval:PT1M}", initialDelayString = "${policy.snapshot.initial-delay:PT30S}")
+    public void recompileDue() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!tryLock(connection)) {
+                return null;
+            }
+            try {
+                Timestamp now = Timestamp.from(Instant.now());
+                for (UUID tenantId : jdbcTemplate.queryForList(DUE_TENANTS, UUID.class, now, now)) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> compile(tenantId));
+                    } catch (RuntimeException e) {
+                        log.error("Policy snapshot compile failed: tenantId={}", tenantId, e);
+                    }
+                }
+            } finally {
+                unlock(connection);
+            }
+            return null;
+        });
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))")) {
+            statement.setString(1, RECOMPILE_LOCK);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))")) {
+            statement.setString(1, RECOMPILE_LOCK);
+            statement.execute();
+        }
+    }
+
+    /**
+     * Emits one scope per tenant, role, branch and branch x role, each holding
+     * every value visible there: branch + role over branch over tenant + role
+     * over tenant (DEC-008). Within one scope the highest version_number wins.
+     */
+    static List<PolicySnapshotDocument.Scope> flatten(List<Row> rows) {
+        Map<ScopeKey, Map<String, Row>> declared = new HashMap<>();
+        Set<UUID> branches = new LinkedHashSet<>();
+        Set<String> roles = new LinkedHashSet<>();
+        for (Row row : rows) {
+            declared.computeIfAbsent(new ScopeKey(row.branchId(), row.role()), key -> new HashMap<>())
+                .merge(row.key(), row, (current, candidate) -> candidate.version() > current.version() ? candidate : current);
+            if (row.branchId() != null) {
+                branches.add(row.branchId());
+            }
+            if (row.role() != null) {
+                roles.add(row.role());
+            }
+        }
+
+        List<PolicySnapshotDocument.Scope> scopes = new ArrayList<>();
+        scopes.add(resolved(declared, null, null));
+        roles.forEach(role -> scopes.add(resolved(declared, null, role)));
+        for (UUID branchId : branches) {
+            scopes.add(resolved(declared, branchId, null));
+            roles.forEach(role -> scopes.add(resolved(declared, branchId, role)));
+        }
+        return scopes;
+    }
+
+    private static PolicySnapshotDocument.Scope resolved(Map<ScopeKey, Map<String, Row>> declared, UUID branchId, String role) {
+        Map<String, String> values = new LinkedHashMap<>();
+        // lowest precedence first, later layers overwrite
+        List<ScopeKey> layers = new ArrayList<>();
+        layers.add(new ScopeKey(null, null));
+        if (role != null) {
+            layers.add(new ScopeKey(null, role));
+        }
+        if (branchId != null) {
+            layers.add(new ScopeKey(branchId, null));
+            if (role != null) {
+                layers.add(new ScopeKey(branchId, role));
+            }
+        }
+        for (ScopeKey layer : layers) {
+            declared.getOrDefault(layer, Map.of()).forEach((key, row) -> values.put(key, row.value()));
+        }
+        return new PolicySnapshotDocument.Scope(branchId, role, values);
+    }
+
+    record Row(String key, String value, int version, UUID branchId, String role) {
+    }
+
+    private record ScopeKey(UUID branchId, String role) {
+    }
+}
@@ -0,0 +1,13 @@
+-- Policy scopes below the tenant (DEC-008 BRANCH override, role-specific values)
+ALTER TABLE policy_records ADD COLUMN branch_id UUID REFERENCES branches(id);
+ALTER TABLE policy_records ADD COLUMN role_name VARCHAR(100);
+
+CREATE INDEX idx_policy_published ON policy_records(tenant_id)
+    WHERE status = 'PUBLISHED' AND is_deleted = FALSE;
+
+-- Monotonic snapshot version per tenant; compiled_at drives recompiles when effective windows open or close
+CREATE TABLE policy_snapshot_versions (
+    tenant_id UUID PRIMARY KEY REFERENCES tenants(id),
+    version BIGINT NOT NULL,
+    compiled_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,21 @@
+-- Any write to policy_records (publish, rollback, soft or hard delete) marks the tenant's snapshot
+-- stale; PolicySnapshotService clears the flag in the transaction that compiles the next version
+ALTER TABLE policy_snapshot_versions ADD COLUMN stale BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_policy_snapshot_versions_stale ON policy_snapshot_versions(tenant_id) WHERE stale;
+
+CREATE OR REPLACE FUNCTION mark_policy_snapshot_stale() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        UPDATE policy_snapshot_versions SET stale = TRUE WHERE tenant_id = OLD.tenant_id AND NOT stale;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        UPDATE policy_snapshot_versions SET stale = TRUE WHERE tenant_id = NEW.tenant_id AND NOT stale;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_policy_records_changed
+    AFTER INSERT OR UPDATE OR DELETE ON policy_records
+    FOR EACH ROW EXECUTE FUNCTION mark_policy_snapshot_stale();
@@ -0,0 +1,102 @@
+package com.autorepair.tenantadmin.service;
+
+import com.autorepair.common.security.policy.PolicySnapshot;
+import com.autorepair.common.security.policy.PolicySnapshotDocument;
+import com.autorepair.tenantadmin.service.PolicySnapshotService.Row;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * flatten() and PolicySnapshot.resolve() together must give the DEC-008
+ * precedence: branch + role, branch, tenant + role, tenant.
+ */
+class PolicySnapshotServiceTest {
+
+    private static final UUID TENANT = UUID.randomUUID();
+    private static final UUID BRANCH = UUID.randomUUID();
+    private static final UUID OTHER_BRANCH = UUID.randomUUID();
+
+    @Test
+    void eachLayerOverridesTheLessSpecificOnes() {
+        PolicySnapshot snapshot = compile(List.of(
+            new Row("labor.rate", "100", 1, null, null),
+            new Row("labor.rate", "110", 1, null, "MANAGER"),
+            new Row("labor.rate", "120", 1, BRANCH, null),
+            new Row("labor.rate", "130", 1, BRANCH, "MANAGER")
+        ));
+
+        assertThat(snapshot.resolve("labor.rate", null, null)).isEqualTo("100");
+        assertThat(snapshot.resolve("labor.rate", null, "MANAGER")).isEqualTo("110");
+        assertThat(snapshot.resolve("labor.rate", BRANCH, null)).isEqualTo("120");
+        assertThat(snapshot.resolve("labor.rate", BRANCH, "MANAGER")).isEqualTo("130");
+        assertThat(snapshot.resolve("labor.rate", OTHER_BRANCH, "MANAGER")).isEqualTo("110");
+    }
+
+    @Test
+    void branchBeatsTenantRole() {
+        PolicySnapshot snapshot = compile(List.of(
+            new Row("labor.rate", "100", 1, null, null),
+            new Row("labor.rate", "110", 1, null, "MANAGER"),
+            new Row("labor.rate", "120", 1, BRANCH, null)
+        ));
+
+        assertThat(snapshot.resolve("labor.rate", BRANCH, "MANAGER")).isEqualTo("120");
+    }
+
+    @Test
+    void branchRoleInheritsKeysOnlyDeclaredForTheTenantRole() {
+        PolicySnapshot snapshot = compile(List.of(
+            new Row("approval.limit", "500", 1, null, "MANAGER"),
+            new Row("labor.rate", "120", 1, BRANCH, null)
+        ));
+
+        assertThat(snapshot.resolve("approval.limit", BRANCH, "MANAGER")).isEqualTo("500");
+        assertThat(snapshot.resolve("approval.limit", BRANCH, null)).isNull();
+        assertThat(snapshot.resolve("approval.limit", null, null)).isNull();
+    }
+
+    @Test
+    void highestVersionWinsWithinAScope() {
+        PolicySnapshot snapshot = compile(List.of(
+            new Row("labor.rate", "100", 3, null, null),
+            new Row("labor.rate", "90", 2, null, null),
+            new Row("labor.rate", "80", 1, null, null)
+        ));
+
+        assertThat(snapshot.resolve("labor.rate", null, null)).isEqualTo("100");
+    }
+
+    @Test
+    void emitsOneScopePerTenantRoleBranchAndBranchRole() {
+        List<PolicySnapshotDocument.Scope> scopes = PolicySnapshotService.flatten(List.of(
+            new Row("labor.rate", "100", 1, null, null),
+            new Row("labor.rate", "110", 1, null, "MANAGER"),
+            new Row("labor.rate", "120", 1, BRANCH, null)
+        ));
+
+        assertThat(scopes).extracting(PolicySnapshotDocument.Scope::branchId, PolicySnapshotDocument.Scope::role)
+            .containsExactly(
+                tuple(null, null),
+                tuple(null, "MANAGER"),
+                tuple(BRANCH, null),
+                tuple(BRANCH, "MANAGER"));
+    }
+
+    @Test
+    void noPoliciesMeansDefaultsEverywhere() {
+        PolicySnapshot snapshot = compile(List.of());
+
+        assertThat(snapshot.resolve("labor.rate", BRANCH, "MANAGER")).isNull();
+    }
+
+    private static PolicySnapshot compile(List<Row> rows) {
+        return PolicySnapshot.compile(
+            new PolicySnapshotDocument(TENANT, 1, Instant.now(), PolicySnapshotService.flatten(rows)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.autorepair.vehicle.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plate search limits of DEC-028.
+ */
+@Component
+@ConfigurationProperties(prefix = "vehicle.search")
+@Data
+public class VehicleSearchProperties {
+
+    private int minQueryLength = 2;
+
+    private int maxResults = 20;
+
+    /**
+     * Fall back to OCR-confusion matching when exact and prefix matches
+     * return fewer rows than requested.
+     */
+    private boolean ocrFallback = true;
+}
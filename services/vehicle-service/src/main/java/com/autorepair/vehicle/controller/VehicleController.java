@@ -1,7 +1,10 @@
 package com.autorepair.vehicle.controller;
 
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
 import com.autorepair.vehicle.dto.CreateVehicleRequest;
 import com.autorepair.vehicle.dto.VehicleResponse;
+import com.autorepair.vehicle.service.VehicleSearchService;
 import com.autorepair.vehicle.service.VehicleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +15,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -20,6 +24,7 @@ import java.util.UUID;
 public class VehicleController {
 
     private final VehicleService vehicleService;
+    private final VehicleSearchService vehicleSearchService;
 
     @PostMapping
     public ResponseEntity<VehicleResponse> create(@Valid @RequestBody CreateVehicleRequest request) {
@@ -33,6 +38,22 @@ public class VehicleController {
         return ResponseEntity.ok(vehicleService.list(plate, pageable));
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<VehicleResponse>> list(
+            @RequestParam(required = false) String plate,
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(vehicleService.list(plate, CursorRequest.of(cursor, size, includeTotal)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<VehicleResponse>> search(
+            @RequestParam String plate,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(vehicleSearchService.search(plate, limit));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable UUID id) {
         vehicleService.delete(id);
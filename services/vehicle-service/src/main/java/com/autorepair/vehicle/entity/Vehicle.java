@@ -37,6 +37,9 @@ public class Vehicle {
     @Column(name = "normalized_plate", nullable = false, length = 20)
     private String normalizedPlate;
 
+    @Column(name = "ocr_plate_key", nullable = false, length = 20)
+    private String ocrPlateKey;
+
     @Column(length = 100)
     private String make;
 
@@ -1,11 +1,16 @@
 package com.autorepair.vehicle.repository;
 
 import com.autorepair.vehicle.entity.Vehicle;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -13,9 +18,29 @@ public interface VehicleRepository extends JpaRepository<Vehicle, UUID> {
 
     Page<Vehicle> findByTenantIdAndActiveTrue(UUID tenantId, Pageable pageable);
 
+    List<Vehicle> findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(UUID tenantId, Limit limit);
+
+    @Query("SELECT v FROM Vehicle v WHERE v.tenantId = :tenantId AND v.active = true " +
+           "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id)) " +
+           "ORDER BY v.createdAt DESC, v.id DESC")
+    List<Vehicle> findPageAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") Instant createdAt,
+                                @Param("id") UUID id, Limit limit);
+
+    long countByTenantIdAndActiveTrue(UUID tenantId);
+
+    List<Vehicle> findByTenantIdAndNormalizedPlateStartingWithAndActiveTrueOrderByCreatedAtDescIdDesc(UUID tenantId, String plate, Limit limit);
+
+    @Query("SELECT v FROM Vehicle v WHERE v.tenantId = :tenantId AND v.active = true AND v.normalizedPlate LIKE CONCAT(:plate, '%') " +
+           "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.id < :id)) " +
+           "ORDER BY v.createdAt DESC, v.id DESC")
+    List<Vehicle> findPageAfterMatching(@Param("tenantId") UUID tenantId, @Param("plate") String plate,
+                                        @Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    long countByTenantIdAndNormalizedPlateStartingWithAndActiveTrue(UUID tenantId, String plate);
+
     Page<Vehicle> findByActiveTrue(Pageable pageable);
 
-    Page<Vehicle> findByTenantIdAndRawPlateContainingIgnoreCaseAndActiveTrue(UUID tenantId, String plate, Pageable pageable);
+    Page<Vehicle> findByTenantIdAndNormalizedPlateStartingWithAndActiveTrue(UUID tenantId, String plate, Pageable pageable);
 
     Page<Vehicle> findByRawPlateContainingIgnoreCaseAndActiveTrue(String plate, Pageable pageable);
 }
@@ -0,0 +1,113 @@
+package com.autorepair.vehicle.service;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.error.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * DEC-034 canonical plate form: trimmed, upper-cased with {@link Locale#ROOT},
+ * only A-Z and 0-9 kept, 2..16 characters. Same result as
+ * {@code raw.trim().toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "")} in one
+ * pass over the input, without a regex or intermediate strings; input that is
+ * already canonical is returned as is.
+ */
+public final class PlateNormalizer {
+
+    public static final int MIN_LENGTH = 2;
+    public static final int MAX_LENGTH = 16;
+
+    // O,Q->0 I,L->1 Z->2 S->5 G->6 B->8; keep in sync with translate() in V13__add_plate_search.sql
+    private static final char[] OCR_FOLD = new char[128];
+
+    static {
+        for (char c = 0; c < OCR_FOLD.length; c++) {
+            OCR_FOLD[c] = c;
+        }
+        String from = "OQILZSGB";
+        String to = "00112568";
+        for (int i = 0; i < from.length(); i++) {
+            OCR_FOLD[from.charAt(i)] = to.charAt(i);
+        }
+    }
+
+    private PlateNormalizer() {
+    }
+
+    /**
+     * Canonical plate for storage and uniqueness.
+     *
+     * @throws BusinessException {@code ERR_VALIDATION_FAILED} outside 2..16 characters
+     */
+    public static String normalize(String raw) {
+        String plate = raw == null ? "" : canonicalize(raw);
+        if (plate.length() < MIN_LENGTH || plate.length() > MAX_LENGTH) {
+            throw new BusinessException(ErrorCode.ERR_VALIDATION_FAILED,
+                "Plate must have " + MIN_LENGTH + " to " + MAX_LENGTH + " letters or digits",
+                "error.validation.failed", HttpStatus.BAD_REQUEST);
+        }
+        return plate;
+    }
+
+    /**
+     * Canonical characters of any input, without length rules; for search
+     * queries and prefixes. Never contains LIKE wildcards.
+     */
+    public static String canonicalize(String input) {
+        int length = input.length();
+        int i = 0;
+        while (i < length && isCanonical(input.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return input;
+        }
+
+        char[] out = new char[length];
+        input.getChars(0, i, out, 0);
+        int size = i;
+        for (; i < length; i++) {
+            char c = input.charAt(i);
+            if (isCanonical(c)) {
+                out[size++] = c;
+            } else if (c >= 'a' && c <= 'z') {
+                out[size++] = (char) (c - ('a' - 'A'));
+            } else if (c > 0x7F && !Character.isSurrogate(c)) {
+                // a few non-ASCII letters upper-case to ASCII (dotless i -> I, sharp s -> SS, ligatures)
+                String upper = String.valueOf(c).toUpperCase(Locale.ROOT);
+                // room for this expansion and one char per remaining input char
+                int needed = size + upper.length() + (length - i - 1);
+                if (needed > out.length) {
+                    out = Arrays.copyOf(out, needed);
+                }
+                for (int j = 0; j < upper.length(); j++) {
+                    char u = upper.charAt(j);
+                    if (isCanonical(u)) {
+                        out[size++] = u;
+                    }
+                }
+            }
+        }
+        return new String(out, 0, size);
+    }
+
+    /**
+     * Folds characters OCR and people confuse onto one representative, so
+     * "34ABO12" and "34A8012" share a key. Expects a canonical plate.
+     */
+    public static String ocrKey(String plate) {
+        char[] chars = plate.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] < OCR_FOLD.length) {
+                chars[i] = OCR_FOLD[chars[i]];
+            }
+        }
+        return new String(chars);
+    }
+
+    private static boolean isCanonical(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
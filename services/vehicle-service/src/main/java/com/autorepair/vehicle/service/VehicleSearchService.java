@@ -0,0 +1,107 @@
+package com.autorepair.vehicle.service;
+
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.error.ErrorCode;
+import com.autorepair.common.security.TenantContext;
+import com.autorepair.vehicle.config.VehicleSearchProperties;
+import com.autorepair.vehicle.dto.VehicleResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Live plate lookup for reception. The query is normalized like stored plates
+ * (DEC-034) and matched by prefix on {@code normalized_plate}, so an exact
+ * match sorts first; if that leaves room, plates whose OCR key matches fill the
+ * rest (0/O, 1/I and similar confusions). Both are range scans on
+ * tenant-leading indexes partial on {@code is_actv} (V15).
+ */
+@Service
+@RequiredArgsConstructor
+public class VehicleSearchService {
+
+    private static final String COLUMNS =
+        "SELECT id, tenant_id, customer_id, raw_plate, normalized_plate, make, model, year, vin, color, " +
+        "mileage, engine_no, notes, status, created_at FROM vehicles ";
+
+    private static final String BY_PLATE_PREFIX = COLUMNS +
+        "WHERE tenant_id = :tenantId AND is_actv = TRUE AND normalized_plate COLLATE \"C\" LIKE :prefix " +
+        "ORDER BY normalized_plate COLLATE \"C\", id LIMIT :limit";
+
+    private static final String BY_OCR_PREFIX = COLUMNS +
+        "WHERE tenant_id = :tenantId AND is_actv = TRUE AND ocr_plate_key COLLATE \"C\" LIKE :prefix " +
+        "ORDER BY ocr_plate_key COLLATE \"C\", id LIMIT :limit";
+
+    private static final RowMapper<VehicleResponse> ROW_MAPPER = (rs, rowNum) -> VehicleResponse.builder()
+        .id(rs.getObject("id", UUID.class))
+        .tenantId(rs.getObject("tenant_id", UUID.class))
+        .customerId(rs.getObject("customer_id", UUID.class))
+        .rawPlate(rs.getString("raw_plate"))
+        .normalizedPlate(rs.getString("normalized_plate"))
+        .make(rs.getString("make"))
+        .model(rs.getString("model"))
+        .year(rs.getObject("year", Integer.class))
+        .vin(rs.getString("vin"))
+        .color(rs.getString("color"))
+        .mileage(rs.getObject("mileage", Integer.class))
+        .engineNo(rs.getString("engine_no"))
+        .notes(rs.getString("notes"))
+        .status(rs.getString("status"))
+        .createdAt(rs.getTimestamp("created_at").toInstant())
+        .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final VehicleSearchProperties properties;
+
+    @Transactional(readOnly = true)
+    public List<VehicleResponse> search(String plate, Integer limit) {
+        String key = plate == null ? "" : PlateNormalizer.canonicalize(plate);
+        if (key.length() < properties.getMinQueryLength()) {
+            throw new BusinessException(ErrorCode.ERR_VALIDATION_FAILED,
+                "Plate search needs at least " + properties.getMinQueryLength() + " letters or digits",
+                "error.validation.failed", HttpStatus.BAD_REQUEST);
+        }
+        int max = properties.getMaxResults();
+        int effectiveLimit = limit == null ? max : Math.max(1, Math.min(limit, max));
+        UUID tenantId = TenantContext.getTenantId();
+
+        List<VehicleResponse> results = query(BY_PLATE_PREFIX, tenantId, key, effectiveLimit);
+        if (results.size() >= effectiveLimit || !properties.isOcrFallback()) {
+            return results;
+        }
+        // the fuzzy rows can include the prefix rows again; keep each vehicle once
+        Set<UUID> seen = new HashSet<>();
+        List<VehicleResponse> merged = new ArrayList<>(effectiveLimit);
+        for (VehicleResponse vehicle : results) {
+            seen.add(vehicle.getId());
+            merged.add(vehicle);
+        }
+        for (VehicleResponse vehicle : query(BY_OCR_PREFIX, tenantId, PlateNormalizer.ocrKey(key), effectiveLimit)) {
+            if (merged.size() == effectiveLimit) {
+                break;
+            }
+            if (seen.add(vehicle.getId())) {
+                merged.add(vehicle);
+            }
+        }
+        return merged;
+    }
+
+    private List<VehicleResponse> query(String sql, UUID tenantId, String prefix, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("tenantId", tenantId)
+            .addValue("prefix", prefix + "%")
+            .addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+}
@@ -1,5 +1,10 @@
 package com.autorepair.vehicle.service;
 
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
+import com.autorepair.common.paging.PageCursor;
+import com.autorepair.common.error.BusinessException;
+import com.autorepair.common.error.ErrorCode;
 import com.autorepair.common.security.TenantContext;
 import com.autorepair.common.security.exception.ResourceNotFoundException;
 import com.autorepair.vehicle.dto.CreateVehicleRequest;
@@ -9,11 +14,12 @@ import com.autorepair.vehicle.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.Locale;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -34,7 +40,8 @@ public class VehicleService {
         vehicle.setBranchId(branchId);
         vehicle.setCustomerId(request.getCustomerId());
         vehicle.setRawPlate(request.getRawPlate().trim());
-        vehicle.setNormalizedPlate(normalizePlate(request.getRawPlate()));
+        vehicle.setNormalizedPlate(PlateNormalizer.normalize(request.getRawPlate()));
+        vehicle.setOcrPlateKey(PlateNormalizer.ocrKey(vehicle.getNormalizedPlate()));
         vehicle.setMake(request.getMake().trim());
         vehicle.setModel(request.getModel() != null ? request.getModel().trim() : null);
         vehicle.setYear(request.getYear());
@@ -57,13 +64,38 @@ public class VehicleService {
         UUID tenantId = TenantContext.getTenantId();
         Page<Vehicle> page;
         if (plate != null && !plate.isBlank()) {
-            page = vehicleRepository.findByTenantIdAndRawPlateContainingIgnoreCaseAndActiveTrue(tenantId, plate, pageable);
+            page = vehicleRepository.findByTenantIdAndNormalizedPlateStartingWithAndActiveTrue(tenantId, plateFilter(plate), pageable);
         } else {
             page = vehicleRepository.findByTenantIdAndActiveTrue(tenantId, pageable);
         }
         return page.map(this::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<VehicleResponse> list(String plate, CursorRequest request) {
+        UUID tenantId = TenantContext.getTenantId();
+        PageCursor after = request.after();
+        boolean filtered = plate != null && !plate.isBlank();
+        String prefix = filtered ? plateFilter(plate) : null;
+        List<Vehicle> rows;
+        if (filtered) {
+            rows = after == null
+                    ? vehicleRepository.findByTenantIdAndNormalizedPlateStartingWithAndActiveTrueOrderByCreatedAtDescIdDesc(tenantId, prefix, request.limit())
+                    : vehicleRepository.findPageAfterMatching(tenantId, prefix, after.createdAt(), after.id(), request.limit());
+        } else {
+            rows = after == null
+                    ? vehicleRepository.findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(tenantId, request.limit())
+                    : vehicleRepository.findPageAfter(tenantId, after.createdAt(), after.id(), request.limit());
+        }
+        Long total = null;
+        if (request.includeTotal()) {
+            total = filtered
+                    ? vehicleRepository.countByTenantIdAndNormalizedPlateStartingWithAndActiveTrue(tenantId, prefix)
+                    : vehicleRepository.countByTenantIdAndActiveTrue(tenantId);
+        }
+        return CursorPage.of(rows, request, e -> new PageCursor(e.getCreatedAt(), e.getId()), this::toResponse, total);
+    }
+
     @Transactional
     public void delete(UUID id) {
         UUID tenantId = TenantContext.getTenantId();
@@ -96,10 +128,15 @@ public class VehicleService {
                 .build();
     }
 
-    private String normalizePlate(String raw) {
-        if (raw == null) return null;
-        String upper = raw.trim().toUpperCase(Locale.ROOT);
-        String cleaned = upper.replaceAll("[^A-Z0-9]", "");
-        return cleaned.length() >= 2 ? cleaned : raw.trim().toUpperCase(Locale.ROOT);
+    /**
+     * Plate filters match normalized plates by prefix, so "34 ab" finds "34AB123".
+     */
+    private String plateFilter(String plate) {
+        String key = PlateNormalizer.canonicalize(plate);
+        if (key.isEmpty()) {
+            throw new BusinessException(ErrorCode.ERR_VALIDATION_FAILED, "Plate filter has no letters or digits",
+                    "error.validation.failed", HttpStatus.BAD_REQUEST);
+        }
+        return key;
     }
 }
@@ -0,0 +1,14 @@
+-- Plate search (VehicleSearchService): normalized prefix and OCR-confusion keys per tenant
+ALTER TABLE vehicles ADD COLUMN ocr_plate_key VARCHAR(20);
+-- O,Q->0 I,L->1 Z->2 S->5 G->6 B->8; keep in sync with PlateNormalizer.ocrKey
+UPDATE vehicles SET ocr_plate_key = translate(normalized_plate, 'OQILZSGB', '00112568');
+ALTER TABLE vehicles ALTER COLUMN ocr_plate_key SET NOT NULL;
+
+CREATE INDEX idx_vehicles_plate_prefix ON vehicles(tenant_id, (normalized_plate COLLATE "C"))
+    WHERE is_deleted = FALSE;
+CREATE INDEX idx_vehicles_ocr_plate_key ON vehicles(tenant_id, (ocr_plate_key COLLATE "C"))
+    WHERE is_deleted = FALSE;
+
+-- not tenant-leading, and raw_plate is no longer searched
+DROP INDEX IF EXISTS idx_vehicles_normalized_plate;
+DROP INDEX IF EXISTS idx_vehicles_raw_plate;
@@ -0,0 +1,9 @@
+-- VehicleSearchService filters is_actv = TRUE (the flag VehicleService.delete clears); rebuild the V13
+-- plate indexes on that predicate so deleted vehicles drop out and the planner can use them
+DROP INDEX IF EXISTS idx_vehicles_plate_prefix;
+CREATE INDEX idx_vehicles_plate_prefix ON vehicles(tenant_id, (normalized_plate COLLATE "C"))
+    WHERE is_actv = TRUE;
+
+DROP INDEX IF EXISTS idx_vehicles_ocr_plate_key;
+CREATE INDEX idx_vehicles_ocr_plate_key ON vehicles(tenant_id, (ocr_plate_key COLLATE "C"))
+    WHERE is_actv = TRUE;
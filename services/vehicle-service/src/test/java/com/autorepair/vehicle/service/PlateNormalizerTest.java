@@ -0,0 +1,91 @@
+package com.autorepair.vehicle.service;
+
+import com.autorepair.common.error.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the single-pass normalizer against the regex form it replaced and the
+ * OCR key against the translate() used by V13__add_plate_search.sql.
+ */
+class PlateNormalizerTest {
+
+    private static final String CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 -._/\t"
+        + "ıİßŞşÇçĞğÖöÜüÅÆæŒœﬀﬁİµ🚗";
+
+    @ParameterizedTest
+    @ValueSource(strings = {"34 ABC 123", "34abc123", " 34-abc-123 ", "ıstanbul", "straße", "ﬁat 500", "ÖZ 34 Ü", "AB"})
+    void canonicalizeMatchesRegexForm(String raw) {
+        assertThat(PlateNormalizer.canonicalize(raw.trim())).isEqualTo(regexForm(raw));
+    }
+
+    @Test
+    void canonicalizeMatchesRegexFormOnRandomInput() {
+        Random random = new Random(42);
+        for (int n = 0; n < 100_000; n++) {
+            StringBuilder raw = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int i = 0; i < length; i++) {
+                raw.append(CHARS.charAt(random.nextInt(CHARS.length())));
+            }
+            String input = raw.toString();
+            assertThat(PlateNormalizer.canonicalize(input.trim())).as(input).isEqualTo(regexForm(input));
+        }
+    }
+
+    @Test
+    void canonicalInputIsReturnedAsIs() {
+        String plate = "34ABC123";
+        assertThat(PlateNormalizer.canonicalize(plate)).isSameAs(plate);
+    }
+
+    @Test
+    void expandingCharactersGrowTheBuffer() {
+        assertThat(PlateNormalizer.canonicalize("ßßßßßßßß")).isEqualTo("SSSSSSSSSSSSSSSS");
+        assertThat(PlateNormalizer.canonicalize("Aﬃﬃ")).isEqualTo("AFFIFFI");
+    }
+
+    @Test
+    void ocrKeyMatchesMigrationTranslate() {
+        String from = "OQILZSGB";
+        String to = "00112568";
+        for (char c = 'A'; c <= 'Z'; c++) {
+            int folded = from.indexOf(c);
+            char expected = folded < 0 ? c : to.charAt(folded);
+            assertThat(PlateNormalizer.ocrKey(String.valueOf(c))).isEqualTo(String.valueOf(expected));
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            assertThat(PlateNormalizer.ocrKey(String.valueOf(c))).isEqualTo(String.valueOf(c));
+        }
+        assertThat(PlateNormalizer.ocrKey("34ABO12")).isEqualTo(PlateNormalizer.ocrKey("34A8012"));
+    }
+
+    @Test
+    void normalizeAcceptsTwoToSixteenCharacters() {
+        assertThat(PlateNormalizer.normalize(" 34 ab ")).isEqualTo("34AB");
+        assertThat(PlateNormalizer.normalize("ab")).isEqualTo("AB");
+        assertThat(PlateNormalizer.normalize("1234567890ABCDEF")).isEqualTo("1234567890ABCDEF");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "A", "-- A --", "1234567890ABCDEFG"})
+    void normalizeRejectsPlatesOutsideTheLengthRange(String raw) {
+        assertThatThrownBy(() -> PlateNormalizer.normalize(raw)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void normalizeRejectsNull() {
+        assertThatThrownBy(() -> PlateNormalizer.normalize(null)).isInstanceOf(BusinessException.class);
+    }
+
+    private static String regexForm(String raw) {
+        return raw.trim().toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "");
+    }
+}
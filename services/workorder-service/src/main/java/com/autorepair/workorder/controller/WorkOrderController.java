@@ -1,5 +1,8 @@
 package com.autorepair.workorder.controller;
 
+import com.autorepair.common.idempotency.Idempotent;
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
 import com.autorepair.workorder.dto.FastIntakeRequest;
 import com.autorepair.workorder.dto.WorkOrderResponse;
 import com.autorepair.workorder.service.WorkOrderService;
@@ -24,6 +27,7 @@ public class WorkOrderController {
     }
 
     @PostMapping("/fast-intake")
+    @Idempotent(ttl = "PT24H")
     public ResponseEntity<WorkOrderResponse> fastIntake(@RequestBody FastIntakeRequest request) {
         WorkOrderResponse response = workOrderService.createFastIntake(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
@@ -34,6 +38,14 @@ public class WorkOrderController {
         return ResponseEntity.ok(workOrderService.listWorkOrders(pageable));
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<WorkOrderResponse>> listWorkOrders(
+            @RequestParam String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(workOrderService.listWorkOrders(CursorRequest.of(cursor, size, includeTotal)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<WorkOrderResponse> getWorkOrder(@PathVariable UUID id) {
         return ResponseEntity.ok(workOrderService.getWorkOrder(id));
@@ -1,18 +1,36 @@
 package com.autorepair.workorder.repository;
 
 import com.autorepair.workorder.entity.WorkOrder;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface WorkOrderRepository extends JpaRepository<WorkOrder, UUID> {
 
-    Page<WorkOrder> findByTenantIdAndActiveTrue(UUID tenantId, Pageable pageable);
+    Page<WorkOrderSummary> findByTenantIdAndActiveTrue(UUID tenantId, Pageable pageable);
+
+    List<WorkOrderSummary> findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(UUID tenantId, Limit limit);
+
+    @Query("SELECT w.id AS id, w.tenantId AS tenantId, w.customerId AS customerId, w.vehicleId AS vehicleId, " +
+           "w.status AS status, w.subStatus AS subStatus, w.problemShortNote AS problemShortNote, " +
+           "w.createdAt AS createdAt, w.updatedAt AS updatedAt " +
+           "FROM WorkOrder w WHERE w.tenantId = :tenantId AND w.active = true " +
+           "AND (w.createdAt < :createdAt OR (w.createdAt = :createdAt AND w.id < :id)) " +
+           "ORDER BY w.createdAt DESC, w.id DESC")
+    List<WorkOrderSummary> findPageAfter(@Param("tenantId") UUID tenantId, @Param("createdAt") Instant createdAt,
+                                         @Param("id") UUID id, Limit limit);
+
+    long countByTenantIdAndActiveTrue(UUID tenantId);
 
     Page<WorkOrder> findByActiveTrue(Pageable pageable);
 
@@ -0,0 +1,30 @@
+package com.autorepair.workorder.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Columns of a work order list row. Queries returning it select only these,
+ * leaving the TEXT columns (problem details, diagnostics notes) unread and the
+ * rows out of the persistence context.
+ */
+public interface WorkOrderSummary {
+
+    UUID getId();
+
+    UUID getTenantId();
+
+    UUID getCustomerId();
+
+    UUID getVehicleId();
+
+    String getStatus();
+
+    String getSubStatus();
+
+    String getProblemShortNote();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+}
@@ -1,17 +1,22 @@
 package com.autorepair.workorder.service;
 
+import com.autorepair.common.paging.CursorPage;
+import com.autorepair.common.paging.CursorRequest;
+import com.autorepair.common.paging.PageCursor;
 import com.autorepair.common.security.TenantContext;
 import com.autorepair.common.security.exception.ResourceNotFoundException;
 import com.autorepair.workorder.dto.FastIntakeRequest;
 import com.autorepair.workorder.dto.WorkOrderResponse;
 import com.autorepair.workorder.entity.WorkOrder;
 import com.autorepair.workorder.repository.WorkOrderRepository;
+import com.autorepair.workorder.repository.WorkOrderSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -69,9 +74,22 @@ public class WorkOrderService {
     @Transactional(readOnly = true)
     public Page<WorkOrderResponse> listWorkOrders(Pageable pageable) {
         UUID tenantId = TenantContext.getTenantId();
-        Page<WorkOrder> page;
-        page = workOrderRepository.findByTenantIdAndActiveTrue(tenantId, pageable);
-        return page.map(wo -> WorkOrderResponse.builder()
+        return workOrderRepository.findByTenantIdAndActiveTrue(tenantId, pageable).map(this::toListResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<WorkOrderResponse> listWorkOrders(CursorRequest request) {
+        UUID tenantId = TenantContext.getTenantId();
+        PageCursor after = request.after();
+        List<WorkOrderSummary> rows = after == null
+                ? workOrderRepository.findByTenantIdAndActiveTrueOrderByCreatedAtDescIdDesc(tenantId, request.limit())
+                : workOrderRepository.findPageAfter(tenantId, after.createdAt(), after.id(), request.limit());
+        Long total = request.includeTotal() ? workOrderRepository.countByTenantIdAndActiveTrue(tenantId) : null;
+        return CursorPage.of(rows, request, wo -> new PageCursor(wo.getCreatedAt(), wo.getId()), this::toListResponse, total);
+    }
+
+    private WorkOrderResponse toListResponse(WorkOrderSummary wo) {
+        return WorkOrderResponse.builder()
                 .id(wo.getId())
                 .tenantId(wo.getTenantId())
                 .customerId(wo.getCustomerId())
@@ -79,10 +97,9 @@ public class WorkOrderService {
                 .status(wo.getStatus())
                 .subStatus(wo.getSubStatus())
                 .problemShortNote(wo.getProblemShortNote())
-                .problemDetails(wo.getProblemDetails())
                 .createdAt(wo.getCreatedAt())
                 .updatedAt(wo.getUpdatedAt())
-                .build());
+                .build();
     }
 
     private static final java.util.Map<String, java.util.Set<String>> VALID_TRANSITIONS = java.util.Map.of(
@@ -0,0 +1,3 @@
+-- Keyset pagination order (created_at DESC, id DESC) per tenant; the tenant-only index is its prefix
+CREATE INDEX idx_work_orders_tenant_keyset ON work_orders(tenant_id, created_at DESC, id DESC) WHERE is_deleted = FALSE;
+DROP INDEX IF EXISTS idx_work_orders_tenant;
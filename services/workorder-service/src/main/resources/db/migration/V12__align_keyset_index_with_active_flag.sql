@@ -0,0 +1,6 @@
+-- WorkOrder.active maps to is_actv and delete() clears it, so the keyset index must be partial on is_actv
+ALTER TABLE work_orders ADD COLUMN IF NOT EXISTS is_actv BOOLEAN NOT NULL DEFAULT TRUE;
+UPDATE work_orders SET is_actv = FALSE WHERE is_deleted = TRUE AND is_actv = TRUE;
+
+DROP INDEX IF EXISTS idx_work_orders_tenant_keyset;
+CREATE INDEX idx_work_orders_tenant_keyset ON work_orders(tenant_id, created_at DESC, id DESC) WHERE is_actv = TRUE;
@@ -0,0 +1,3 @@
+-- Events waiting out a retry backoff, looked up per record key so newer events of that key wait behind them
+CREATE INDEX idx_outbox_retry_wait ON outbox_events(partition_key, created_at)
+    WHERE status = 'PENDING' AND retry_count > 0;
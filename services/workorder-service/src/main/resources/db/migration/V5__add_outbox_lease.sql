@@ -0,0 +1,5 @@
+-- Lease columns for multi-instance outbox claiming
+ALTER TABLE outbox_events ADD COLUMN locked_by VARCHAR(100);
+ALTER TABLE outbox_events ADD COLUMN locked_until TIMESTAMP;
+
+CREATE INDEX idx_outbox_pending ON outbox_events(created_at) WHERE status = 'PENDING';